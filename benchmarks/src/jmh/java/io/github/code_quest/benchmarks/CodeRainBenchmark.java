@@ -0,0 +1,60 @@
+package io.github.code_quest.benchmarks;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import io.github.code_quest.ecs.EffectWorld;
+import io.github.code_quest.entities.actors.CodeRainActor;
+import io.github.code_quest.headless.CountingBatch;
+import io.github.code_quest.headless.HeadlessHarness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CodeRainBenchmark {
+    @Param({ "60", "1000", "5000" })
+    public int drops;
+
+    private BitmapFont font;
+    private EffectWorld world;
+    private CodeRainActor rain;
+    private CountingBatch batch;
+
+    @Setup
+    public void setup() {
+        HeadlessHarness.boot();
+        font = new BitmapFont();
+        world = new EffectWorld();
+        rain = new CodeRainActor(world, HeadlessHarness.WIDTH, HeadlessHarness.HEIGHT, font, new Color(0.8f, 1f, 0.8f, 0.18f), drops);
+        batch = new CountingBatch();
+    }
+
+    @Benchmark
+    public void act() {
+        world.update(1f / 60f);
+    }
+
+    @Benchmark
+    public long draw() {
+        batch.begin();
+        rain.draw(batch, 1f);
+        batch.end();
+        return batch.sprites;
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+        font.dispose();
+    }
+}
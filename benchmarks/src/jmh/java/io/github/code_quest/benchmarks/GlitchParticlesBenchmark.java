@@ -0,0 +1,64 @@
+package io.github.code_quest.benchmarks;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import io.github.code_quest.ecs.EffectWorld;
+import io.github.code_quest.entities.GlitchParticles;
+import io.github.code_quest.headless.CountingBatch;
+import io.github.code_quest.headless.HeadlessHarness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GlitchParticlesBenchmark {
+    @Param({ "30", "10000", "50000" })
+    public int bits;
+
+    private Texture pixel;
+    private EffectWorld world;
+    private GlitchParticles particles;
+    private CountingBatch batch;
+
+    @Setup
+    public void setup() {
+        HeadlessHarness.boot();
+        pixel = new Texture(1, 1, Pixmap.Format.RGBA8888);
+        world = new EffectWorld();
+        particles = new GlitchParticles(world, HeadlessHarness.WIDTH, HeadlessHarness.HEIGHT, bits,
+            new Color(0.8f, 1f, 0.8f, 0.25f), new TextureRegion(pixel));
+        batch = new CountingBatch();
+    }
+
+    @Benchmark
+    public void act() {
+        world.update(1f / 60f);
+    }
+
+    @Benchmark
+    public long draw() {
+        batch.begin();
+        particles.draw(batch, 1f);
+        batch.end();
+        return batch.sprites;
+    }
+
+    @TearDown
+    public void tearDown() {
+        particles.dispose();
+        world.dispose();
+        pixel.dispose();
+    }
+}
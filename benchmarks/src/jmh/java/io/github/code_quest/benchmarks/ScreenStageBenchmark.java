@@ -0,0 +1,73 @@
+package io.github.code_quest.benchmarks;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import io.github.code_quest.Main;
+import io.github.code_quest.ecs.EffectWorld;
+import io.github.code_quest.headless.CountingBatch;
+import io.github.code_quest.headless.HeadlessHarness;
+import io.github.code_quest.screens.IntroScreen;
+import io.github.code_quest.screens.MenuScreen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+// Full simulation plus Stage.act, and Stage.draw of a real screen, drawing into a CountingBatch.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScreenStageBenchmark {
+    @Param({ "menu", "intro" })
+    public String screen;
+
+    private Main game;
+    private Screen instance;
+    private Stage stage;
+    private EffectWorld effects;
+    private CountingBatch batch;
+
+    @Setup
+    public void setup() {
+        batch = new CountingBatch();
+        game = HeadlessHarness.createGame(batch);
+        if (screen.equals("menu")) {
+            MenuScreen menu = new MenuScreen(game);
+            stage = menu.getStage();
+            effects = menu.getEffects();
+            instance = menu;
+        } else {
+            IntroScreen intro = new IntroScreen(game, false);
+            stage = intro.getStage();
+            effects = intro.getEffects();
+            instance = intro;
+        }
+        instance.show();
+        instance.resize(HeadlessHarness.WIDTH, HeadlessHarness.HEIGHT);
+    }
+
+    @Benchmark
+    public void act() {
+        effects.update(1f / 60f);
+        stage.act(1f / 60f);
+    }
+
+    @Benchmark
+    public long draw() {
+        stage.draw();
+        return batch.drawCalls;
+    }
+
+    @TearDown
+    public void tearDown() {
+        instance.dispose();
+        game.dispose();
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.code_quest.headless;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.Matrix4;
+
+/**
+ * A {@link Batch} that draws nothing and only counts. A texture switch or an explicit flush counts
+ * as one draw call, the way SpriteBatch would flush, so benchmarks and budget checks can see batching
+ * regressions without a GPU.
+ */
+public class CountingBatch implements Batch {
+    private final Color color = new Color(1, 1, 1, 1);
+    private float packedColor = Color.WHITE_FLOAT_BITS;
+    private final Matrix4 projection = new Matrix4(), transform = new Matrix4();
+    private Texture lastTexture;
+    private boolean drawing, blending = true, pendingSprites;
+    private int blendSrc = GL20.GL_SRC_ALPHA, blendDst = GL20.GL_ONE_MINUS_SRC_ALPHA;
+    private int blendSrcAlpha = GL20.GL_SRC_ALPHA, blendDstAlpha = GL20.GL_ONE_MINUS_SRC_ALPHA;
+    private ShaderProgram shader;
+
+    public long sprites, vertices, drawCalls, textureSwitches;
+
+    public void reset() {
+        sprites = vertices = drawCalls = textureSwitches = 0;
+    }
+
+    private void quads(Texture texture, int count) {
+        if (texture != lastTexture) {
+            if (pendingSprites) drawCalls++;
+            if (lastTexture != null) textureSwitches++;
+            lastTexture = texture;
+        }
+        sprites += count;
+        vertices += count * 4L;
+        pendingSprites = true;
+    }
+
+    @Override public void begin() { drawing = true; }
+    @Override public void end() { flush(); drawing = false; lastTexture = null; }
+    @Override public void flush() {
+        if (pendingSprites) drawCalls++;
+        pendingSprites = false;
+    }
+
+    @Override public void setColor(Color tint) { color.set(tint); packedColor = tint.toFloatBits(); }
+    @Override public void setColor(float r, float g, float b, float a) { color.set(r, g, b, a); packedColor = color.toFloatBits(); }
+    @Override public Color getColor() { return color; }
+    @Override public void setPackedColor(float packedColor) { Color.abgr8888ToColor(color, packedColor); this.packedColor = packedColor; }
+    @Override public float getPackedColor() { return packedColor; }
+
+    @Override public void draw(Texture texture, float x, float y, float originX, float originY, float width, float height,
+        float scaleX, float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) { quads(texture, 1); }
+    @Override public void draw(Texture texture, float x, float y, float width, float height, int srcX, int srcY, int srcWidth,
+        int srcHeight, boolean flipX, boolean flipY) { quads(texture, 1); }
+    @Override public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) { quads(texture, 1); }
+    @Override public void draw(Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) { quads(texture, 1); }
+    @Override public void draw(Texture texture, float x, float y) { quads(texture, 1); }
+    @Override public void draw(Texture texture, float x, float y, float width, float height) { quads(texture, 1); }
+    @Override public void draw(Texture texture, float[] spriteVertices, int offset, int count) { quads(texture, count / 20); } // 20 floats per sprite
+    @Override public void draw(TextureRegion region, float x, float y) { quads(region.getTexture(), 1); }
+    @Override public void draw(TextureRegion region, float x, float y, float width, float height) { quads(region.getTexture(), 1); }
+    @Override public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+        float scaleX, float scaleY, float rotation) { quads(region.getTexture(), 1); }
+    @Override public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+        float scaleX, float scaleY, float rotation, boolean clockwise) { quads(region.getTexture(), 1); }
+    @Override public void draw(TextureRegion region, float width, float height, Affine2 transform) { quads(region.getTexture(), 1); }
+
+    @Override public void disableBlending() { flush(); blending = false; }
+    @Override public void enableBlending() { flush(); blending = true; }
+    @Override public void setBlendFunction(int srcFunc, int dstFunc) { setBlendFunctionSeparate(srcFunc, dstFunc, srcFunc, dstFunc); }
+    @Override public void setBlendFunctionSeparate(int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {
+        if (blendSrc == srcFuncColor && blendDst == dstFuncColor && blendSrcAlpha == srcFuncAlpha && blendDstAlpha == dstFuncAlpha) return;
+        flush();
+        blendSrc = srcFuncColor; blendDst = dstFuncColor; blendSrcAlpha = srcFuncAlpha; blendDstAlpha = dstFuncAlpha;
+    }
+    @Override public int getBlendSrcFunc() { return blendSrc; }
+    @Override public int getBlendDstFunc() { return blendDst; }
+    @Override public int getBlendSrcFuncAlpha() { return blendSrcAlpha; }
+    @Override public int getBlendDstFuncAlpha() { return blendDstAlpha; }
+
+    @Override public Matrix4 getProjectionMatrix() { return projection; }
+    @Override public Matrix4 getTransformMatrix() { return transform; }
+    @Override public void setProjectionMatrix(Matrix4 projection) { if (drawing) flush(); this.projection.set(projection); }
+    @Override public void setTransformMatrix(Matrix4 transform) { if (drawing) flush(); this.transform.set(transform); }
+    @Override public void setShader(ShaderProgram shader) { if (drawing) flush(); this.shader = shader; }
+    @Override public ShaderProgram getShader() { return shader; }
+    @Override public boolean isBlendingEnabled() { return blending; }
+    @Override public boolean isDrawing() { return drawing; }
+
+    @Override public void dispose() {}
+}
@@ -0,0 +1,70 @@
+package io.github.code_quest.headless;
+
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * A do-nothing {@link GL20} for the headless backend. It hands out fresh object names and reports
+ * shaders as compiled and linked, which is just enough for SpriteBatch, Texture and Mesh to construct.
+ * It also counts GL objects that were created and not yet deleted, so leaks show up without a GPU.
+ */
+final class HeadlessGL implements InvocationHandler {
+    private static int live;
+    private int nextName = 1;
+
+    private HeadlessGL() {
+    }
+
+    static GL20 create() {
+        return (GL20)Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] { GL20.class }, new HeadlessGL());
+    }
+
+    /** GL objects (textures, buffers, shaders, programs, framebuffers) currently alive. */
+    static int liveObjects() {
+        return live;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        if (method.getDeclaringClass() == Object.class) {
+            if (name.equals("equals")) return proxy == args[0];
+            if (name.equals("hashCode")) return System.identityHashCode(proxy);
+            return "HeadlessGL";
+        }
+        if ((name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) && args[2] instanceof IntBuffer) {
+            int pname = (Integer)args[1];
+            ((IntBuffer)args[2]).put(0, pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS ? 1 : 0);
+            return null;
+        }
+        if (name.startsWith("glDelete")) {
+            // Singular forms take a name; plural forms take a count first.
+            live -= args.length == 1 ? 1 : (Integer)args[0];
+            return null;
+        }
+        if (name.startsWith("glGen") && args != null && args.length == 2 && args[1] instanceof IntBuffer) {
+            int n = (Integer)args[0];
+            IntBuffer names = (IntBuffer)args[1];
+            for (int i = 0; i < n; i++) names.put(names.position() + i, nextName++);
+            live += n;
+            return null;
+        }
+        if (name.equals("glCheckFramebufferStatus")) return GL20.GL_FRAMEBUFFER_COMPLETE;
+        Class<?> type = method.getReturnType();
+        if (type == int.class) {
+            if (name.startsWith("glGen") || name.startsWith("glCreate")) {
+                live++;
+                return nextName++;
+            }
+            return 0;
+        }
+        if (type == boolean.class) return Boolean.FALSE;
+        if (type == float.class) return 0f;
+        if (type == String.class) return "";
+        return null;
+    }
+}
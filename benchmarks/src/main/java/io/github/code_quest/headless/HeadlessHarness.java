@@ -0,0 +1,80 @@
+package io.github.code_quest.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import io.github.code_quest.Main;
+import io.github.code_quest.assets.AssetService;
+import io.github.code_quest.replay.InputRecording;
+
+/**
+ * Boots libGDX on the headless backend with a no-op GL, so the game's own classes can be built
+ * and driven frame by frame on a machine without a display. Frames are stepped by the caller;
+ * the backend's own loop is disabled.
+ */
+public final class HeadlessHarness {
+    public static final int WIDTH = 800, HEIGHT = 480;
+    private static boolean booted;
+
+    private HeadlessHarness() {
+    }
+
+    public static synchronized void boot() {
+        if (booted) return;
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1; // never call render; callers step frames themselves
+        new HeadlessApplication(new ApplicationAdapter() {}, config);
+        Gdx.gl = Gdx.gl20 = HeadlessGL.create();
+        // MockInput drops the processor; keep it so replays can deliver events to the current screen.
+        Gdx.input = new MockInput() {
+            private InputProcessor processor;
+
+            @Override public void setInputProcessor(InputProcessor processor) {
+                this.processor = processor;
+            }
+
+            @Override public InputProcessor getInputProcessor() {
+                return processor;
+            }
+        };
+        booted = true;
+    }
+
+    /** Creates and starts a {@link Main} whose shared batch is {@code batch}. */
+    public static Main createGame(Batch batch) {
+        return createGame(batch, null);
+    }
+
+    /**
+     * Like {@link #createGame(Batch)}, set up to replay {@code recording} when it is not null, starting at
+     * the window size it was recorded at.
+     */
+    public static Main createGame(final Batch batch, InputRecording recording) {
+        boot();
+        Main game = new Main() {
+            @Override
+            protected AssetService createAssets() {
+                return new AssetService(AssetService.DEFAULT_VRAM_BUDGET, batch);
+            }
+        };
+        if (recording != null) game.replay(recording);
+        game.create();
+        if (recording != null && recording.width > 0) game.resize(recording.width, recording.height);
+        else game.resize(WIDTH, HEIGHT);
+        return game;
+    }
+
+    /** One frame the way {@link Main#render()} runs it, with a fixed delta instead of the mock clock. */
+    public static void step(Main game, float delta) {
+        game.frame(delta);
+    }
+
+    /** GL objects created through the headless GL and not yet deleted. */
+    public static int liveGlObjects() {
+        return HeadlessGL.liveObjects();
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.code_quest.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import io.github.code_quest.Main;
+import io.github.code_quest.replay.InputRecording;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Replays a session recorded with {@code --record} frame for frame on the headless backend and writes
+ * a per-frame CSV trace: frame delta, simulation and draw time, wall time of the whole frame, bytes
+ * allocated by the render thread, and batch draw calls. Run it before and after a change and diff the
+ * traces. Work done on fork-join workers is timed but its allocations are not counted.
+ * <p>
+ * Usage: {@code ReplayRunner <recording> [trace.csv]}
+ */
+public final class ReplayRunner {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayRunner <recording> [trace.csv]");
+            System.exit(2);
+        }
+        InputRecording recording = InputRecording.read(new FileHandle(new File(args[0]).getAbsoluteFile()));
+        File traceFile = new File(args.length > 1 ? args[1] : "replay-trace.csv").getAbsoluteFile();
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        CountingBatch batch = new CountingBatch();
+        Main game = HeadlessHarness.createGame(batch, recording);
+
+        int frames = recording.getFrameCount();
+        long[] wallNs = new long[frames];
+        try (PrintWriter trace = new PrintWriter(traceFile, "UTF-8")) {
+            trace.println("frame,delta_ms,sim_ms,draw_ms,frame_ms,alloc_bytes,draw_calls");
+            for (int i = 0; i < frames; i++) {
+                recording.dispatch(i, Gdx.input.getInputProcessor(), game); // resizes land before the frame, as they did live
+                batch.reset();
+                long alloc = threads.getThreadAllocatedBytes(thread);
+                long start = System.nanoTime();
+                game.frame(recording.getDelta(i));
+                wallNs[i] = System.nanoTime() - start;
+                alloc = threads.getThreadAllocatedBytes(thread) - alloc;
+                trace.printf("%d,%.3f,%.3f,%.3f,%.3f,%d,%d%n", i, recording.getDelta(i) * 1000f,
+                    game.stats.getActMs(), game.stats.getDrawMs(), wallNs[i] / 1e6, alloc, batch.drawCalls);
+            }
+        }
+        game.dispose();
+
+        Arrays.sort(wallNs);
+        double total = 0;
+        for (long ns : wallNs) total += ns;
+        System.out.printf("Replayed %d frames, %d events (seed %d): mean %.3f ms, p99 %.3f ms, worst %.3f ms%n",
+            frames, recording.getEventCount(), recording.seed, frames == 0 ? 0 : total / frames / 1e6,
+            frames == 0 ? 0 : wallNs[Math.min(frames - 1, (int)(frames * 0.99))] / 1e6,
+            frames == 0 ? 0 : wallNs[frames - 1] / 1e6);
+        System.out.println("Trace written to " + traceFile);
+        System.exit(0);
+    }
+}
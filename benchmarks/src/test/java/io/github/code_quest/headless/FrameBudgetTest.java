@@ -0,0 +1,127 @@
+package io.github.code_quest.headless;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Texture;
+import io.github.code_quest.Main;
+import io.github.code_quest.screens.IntroScreen;
+import io.github.code_quest.screens.LoadingScreen;
+import io.github.code_quest.screens.MenuScreen;
+import io.github.code_quest.screens.ScreenFactory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Headless frame-budget regression tests, run by {@code ./gradlew test} (and by {@code core:test}).
+ * They drive MenuScreen and IntroScreen for a few thousand simulated frames and cycle Menu -> Intro ->
+ * Menu, asserting only on budgets that do not depend on how busy the machine is:
+ * <ul>
+ * <li>bytes allocated per frame on the render thread ({@code budget.bytesPerFrame})</li>
+ * <li>growth of live textures and GL objects across transitions ({@code budget.leakedObjects})</li>
+ * </ul>
+ * Simulation time per frame is printed for reference but never fails the build. Budgets and the frame
+ * count ({@code budget.frames}) can be overridden with system properties.
+ */
+public class FrameBudgetTest {
+    private static final float DELTA = 1f / 60f;
+    private static final int WARMUP_FRAMES = 300;
+
+    private static final int FRAMES = Integer.getInteger("budget.frames", 3000);
+    private static final int CYCLES = Integer.getInteger("budget.cycles", 100);
+    private static final long BYTES_PER_FRAME = Long.getLong("budget.bytesPerFrame", 16 * 1024);
+    private static final int LEAKED_OBJECTS = Integer.getInteger("budget.leakedObjects", 0);
+
+    private static final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+    private static Main game;
+
+    @BeforeClass
+    public static void createGame() {
+        game = HeadlessHarness.createGame(new CountingBatch());
+        runUntilIdle(); // the start-up loading screen hands over to the menu
+    }
+
+    @AfterClass
+    public static void disposeGame() {
+        game.dispose();
+    }
+
+    @Test
+    public void menuStaysWithinAllocationBudget() {
+        show(MenuScreen.class, () -> new MenuScreen(game));
+        assertAllocation("MenuScreen");
+    }
+
+    @Test
+    public void introStaysWithinAllocationBudget() {
+        show(IntroScreen.class, () -> new IntroScreen(game, false));
+        assertAllocation("IntroScreen");
+    }
+
+    @Test
+    public void transitionsLeakNoTexturesOrGlObjects() {
+        show(MenuScreen.class, () -> new MenuScreen(game));
+        // Baseline after one full cycle, so first-load cache fills are not counted as leaks.
+        cycle();
+        int texturesBefore = Texture.getNumManagedTextures();
+        int glBefore = HeadlessHarness.liveGlObjects();
+        for (int i = 1; i < CYCLES; i++) cycle();
+        int textureGrowth = Texture.getNumManagedTextures() - texturesBefore;
+        int glGrowth = HeadlessHarness.liveGlObjects() - glBefore;
+        System.out.printf("%d Menu/Intro cycles: textures %+d, GL objects %+d%n", CYCLES, textureGrowth, glGrowth);
+        assertTrue("live textures grew by " + textureGrowth + " over " + CYCLES + " cycles", textureGrowth <= LEAKED_OBJECTS);
+        assertTrue("live GL objects grew by " + glGrowth + " over " + CYCLES + " cycles", glGrowth <= LEAKED_OBJECTS);
+    }
+
+    private static void assertAllocation(String name) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) HeadlessHarness.step(game, DELTA);
+
+        long threadId = Thread.currentThread().getId();
+        long allocStart = threads.getThreadAllocatedBytes(threadId);
+        double actTotal = 0;
+        float actWorst = 0;
+        for (int i = 0; i < FRAMES; i++) {
+            HeadlessHarness.step(game, DELTA);
+            float act = game.stats.getActMs();
+            actTotal += act;
+            actWorst = Math.max(actWorst, act);
+        }
+        long perFrame = (threads.getThreadAllocatedBytes(threadId) - allocStart) / FRAMES;
+        // Wall-clock time varies with the machine's load, so it is reported rather than asserted.
+        System.out.printf("%s: %d B/frame allocated, act mean %.3f ms, worst %.3f ms over %d frames%n",
+            name, perFrame, actTotal / FRAMES, actWorst, FRAMES);
+        assertTrue(name + " allocates " + perFrame + " B/frame (budget " + BYTES_PER_FRAME + ")", perFrame <= BYTES_PER_FRAME);
+    }
+
+    // Moves to a screen of type {@code type} unless it is already showing.
+    private static void show(Class<? extends Screen> type, ScreenFactory next) {
+        if (!type.isInstance(game.getScreen())) transition(next);
+    }
+
+    private static void cycle() {
+        transition(() -> new IntroScreen(game, false));
+        transition(() -> new MenuScreen(game));
+    }
+
+    private static void transition(ScreenFactory next) {
+        Screen from = game.getScreen();
+        MenuScreen.preload(game.assets);
+        IntroScreen.preload(game.assets);
+        game.transitions.begin(0f, next);
+        runUntilIdle();
+        assertNotSame("transition from " + from.getClass().getSimpleName() + " never completed", from, game.getScreen());
+    }
+
+    // Steps frames until no transition is pending; bounded so a stuck transition fails instead of hanging.
+    private static void runUntilIdle() {
+        for (int i = 0; i < 600; i++) {
+            HeadlessHarness.step(game, DELTA);
+            if (!game.transitions.isBusy() && !(game.getScreen() instanceof LoadingScreen)) return;
+        }
+    }
+}
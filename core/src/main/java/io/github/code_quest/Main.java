@@ -2,26 +2,251 @@ package io.github.code_quest;
 
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.TimeUtils;
+import io.github.code_quest.assets.AssetService;
+import io.github.code_quest.debug.DebugOverlay;
+import io.github.code_quest.debug.FrameStats;
+import io.github.code_quest.debug.GpuTimer;
+import io.github.code_quest.debug.ResourceTracker;
+import io.github.code_quest.debug.Trace;
+import io.github.code_quest.replay.InputRecorder;
+import io.github.code_quest.replay.InputRecording;
+import io.github.code_quest.save.SaveData;
+import io.github.code_quest.save.SaveSlots;
+import io.github.code_quest.screens.BusyScreen;
+import io.github.code_quest.screens.FixedStepScreen;
+import io.github.code_quest.screens.LoadingScreen;
 import io.github.code_quest.screens.MenuScreen;
+import io.github.code_quest.screens.RenderScaler;
+import io.github.code_quest.screens.ScreenTransitions;
+import io.github.code_quest.settings.PowerManager;
+import io.github.code_quest.settings.Quality;
+import io.github.code_quest.settings.QualityGovernor;
+import io.github.code_quest.settings.Settings;
 
 public class Main extends Game {
-    public SpriteBatch batch;
+    public static final float DEFAULT_TICK_RATE = 60f;
+    private static final float MAX_FRAME_SECONDS = 0.25f; // longer stalls are not caught up
+    private static final int MAX_TICKS_PER_FRAME = 5;     // spiral-of-death guard
+    private static final Runnable WAKE = () -> { }; // posted to draw one more frame while minimized
+
+    public AssetService assets;
+    public ScreenTransitions transitions;
+    public FrameStats stats;
+    public Settings settings;
+    public RenderScaler scaler;
+    public QualityGovernor governor;
+    public GpuTimer gpuTimer; // set by launchers whose driver has timer queries; null elsewhere
+    public PowerManager power;
+    public SaveSlots saves;
+    public SaveData session; // the run in progress; autosaved in the background
+    public Batch batch;
+    private DebugOverlay overlay;
+    private Quality pacing; // preset whose vsync and FPS cap are in effect
+    private float tick = 1f / DEFAULT_TICK_RATE, accumulator;
+    private long seed = TimeUtils.nanoTime();
+    private RandomXS128 seeds;
+    private FileHandle recordTo;
+    private InputRecorder recorder;
+    private InputRecording replay;
+    private long launchedAt; // epoch millis of main(); cleared once the startup time is logged
 
     @Override
     public void create() {
-        batch = new SpriteBatch();
-        setScreen(new MenuScreen(this)); // start with main menu
+        seeds = new RandomXS128(seed);
+        settings = new Settings(Gdx.app.getPreferences(Settings.PREFS));
+        power = new PowerManager(settings);
+        assets = createAssets();
+        assets.packArt(); // merges optional art and the skin into shared pages behind the loading screen
+        transitions = new ScreenTransitions(this);
+        stats = new FrameStats();
+        saves = new SaveSlots(Gdx.files.local("saves/"));
+        session = new SaveData();
+        batch = assets.batch(); // one batch shared by every screen
+        scaler = new RenderScaler(batch);
+        pacing = settings.getQuality(); // vsync and FPS cap were set by the launcher
+        settings.addListener(this::applyQuality);
+        governor = new QualityGovernor(settings, scaler); // owns the render scale from here on
+        settings.addListener(governor);
+        if (recordTo != null || replay != null) {
+            assets.setBlocking(true);    // loads finish in the frame they start, in both runs
+            governor.setEnabled(false);  // its steps depend on measured time, which never repeats
+        }
+        if (replay != null) settings.override(Quality.values()[replay.quality]);
+        if (recordTo != null) {
+            recorder = new InputRecorder(new InputRecording(seed, getTickRate(), settings.getQuality().ordinal(),
+                Gdx.graphics.getWidth(), Gdx.graphics.getHeight()));
+        }
+        overlay = new DebugOverlay(stats, batch, assets);
+        MenuScreen.preload(assets);
+        setScreen(new LoadingScreen(this, () -> new MenuScreen(this))); // start with main menu
+        if (recorder != null) recorder.attach();
+    }
+
+    /** Seeds every screen's effect world; set before {@link #create()} to reproduce a session. */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Seed for the next effect world, drawn from the session seed so screens get the same one on every run. */
+    public long nextSeed() {
+        return seeds.nextLong();
+    }
+
+    /** Records this session's input and frame deltas and writes them to {@code file} on exit. Call before {@link #create()}. */
+    public void recordTo(FileHandle file) {
+        this.recordTo = file;
+    }
+
+    /** Logs the time from {@code epochMillis} (the launcher's main()) to the first drawn menu frame. */
+    public void setLaunchTime(long epochMillis) {
+        this.launchedAt = epochMillis;
+    }
+
+    /**
+     * Prepares to replay {@code recording}: same seed, tick rate and quality, blocking loads and no governor.
+     * Call before {@link #create()}; the caller then feeds the recorded events and deltas through {@link #frame(float)}.
+     */
+    public void replay(InputRecording recording) {
+        this.replay = recording;
+        this.seed = recording.seed;
+        setTickRate(recording.tickRate);
+    }
+
+    private void applyQuality(Quality quality) {
+        if (quality == pacing) return; // only the governor's effect scale moved
+        pacing = quality;
+        Gdx.graphics.setVSync(quality.vsync);
+        power.refresh(); // the FPS cap only applies while focused
+    }
+
+    /** Simulation ticks per second for {@link FixedStepScreen}s, independent of the display refresh rate. */
+    public void setTickRate(float ticksPerSecond) {
+        tick = 1f / ticksPerSecond;
+        accumulator = 0f;
+    }
+
+    public float getTickRate() {
+        return 1f / tick;
+    }
+
+    /** Headless runs and benchmarks override this to swap the shared batch for a stub. */
+    protected AssetService createAssets() {
+        return new AssetService();
     }
 
     @Override
     public void render() {
-        super.render(); // delegate rendering to the active screen
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) overlay.toggle();
+        frame(Gdx.graphics.getDeltaTime());
+    }
+
+    /** One frame with an explicit delta; {@link #render()} passes the real one, replays and headless runs their own. */
+    public void frame(float delta) {
+        Trace.endPhase(Trace.SWAP);
+        if (recorder != null) recorder.power(power.isFocused(), power.isMinimized(), power.isPaused());
+        stats.recordFrame(delta);
+        if (screen instanceof FixedStepScreen) {
+            if (!power.isSuspended()) renderFixed((FixedStepScreen)screen, delta);
+        } else {
+            Trace.beginPhase(Trace.DRAW);
+            super.render(); // delegate rendering to the active screen; loading keeps going while suspended
+            Trace.endPhase(Trace.DRAW);
+        }
+        if (power.getMode() == PowerManager.Mode.ACTIVE) {
+            governor.update(delta, stats.getActMs() + stats.getDrawMs(), gpuTimer != null ? gpuTimer.getLastMs() : -1f);
+        }
+        overlay.render(screen);
+        if (launchedAt != 0 && screen instanceof MenuScreen) {
+            Gdx.app.log("Startup", "First MenuScreen frame " + (TimeUtils.millis() - launchedAt) + " ms after launch");
+            launchedAt = 0;
+        }
+        transitions.update(delta); // swap screens between frames, never mid-draw
+        if (power.getMode() == PowerManager.Mode.MINIMIZED && (transitions.isBusy() || isScreenBusy())) {
+            // requestRendering() is ignored while iconified; a posted runnable still makes the backend draw a frame.
+            Gdx.app.postRunnable(WAKE);
+        }
+        if (recorder != null) recorder.endFrame(delta);
+        Trace.beginPhase(Trace.SWAP); // runs until the next frame: buffer swap, vsync or FPS cap, input polling
+    }
+
+    private boolean isScreenBusy() {
+        return screen instanceof BusyScreen && ((BusyScreen)screen).isBusy();
+    }
+
+    // Steps the simulation in whole ticks and draws with the leftover fraction as the interpolation alpha.
+    private void renderFixed(FixedStepScreen fixed, float delta) {
+        float tick = power.tick(this.tick);
+        accumulator += Math.min(delta, MAX_FRAME_SECONDS);
+        int ticks = 0;
+        stats.beginAct();
+        Trace.beginPhase(Trace.ACT);
+        while (accumulator >= tick) {
+            if (ticks == MAX_TICKS_PER_FRAME) {
+                accumulator %= tick; // too far behind: drop the backlog instead of falling further behind
+                break;
+            }
+            fixed.step(tick);
+            accumulator -= tick;
+            ticks++;
+        }
+        Trace.endPhase(Trace.ACT);
+        stats.endAct();
+        stats.beginDraw();
+        Trace.beginPhase(Trace.DRAW);
+        if (gpuTimer != null) gpuTimer.begin();
+        fixed.draw(delta, accumulator / tick);
+        if (gpuTimer != null) gpuTimer.end();
+        Trace.endPhase(Trace.DRAW);
+        stats.endDraw();
+    }
+
+    @Override
+    public void setScreen(Screen screen) {
+        Trace.beginScreen(this.screen, screen);
+        super.setScreen(screen);
+        Trace.endScreen();
+        accumulator = 0f; // a new screen starts on a tick boundary
+    }
+
+    @Override
+    public void pause() {
+        super.pause();
+        power.setPaused(true);
+    }
+
+    @Override
+    public void resume() {
+        power.setPaused(false);
+        accumulator = 0f; // pick up where we stopped instead of catching up
+        super.resume();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        if (recorder != null) recorder.resized(width, height);
+        super.resize(width, height);
+        overlay.resize(width, height);
     }
 
     @Override
     public void dispose() {
-        batch.dispose();
-        getScreen().dispose();
+        if (getScreen() != null) getScreen().dispose();
+        overlay.dispose();
+        scaler.dispose();
+        if (gpuTimer != null) gpuTimer.dispose();
+        saves.dispose(); // lets queued autosaves finish
+        assets.dispose();
+        if (recorder != null) recorder.getRecording().write(recordTo);
+        if (ResourceTracker.DEBUG) ResourceTracker.reportLeaks(); // everything should be gone by now
     }
 }
@@ -0,0 +1,135 @@
+package io.github.code_quest.assets;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.glutils.ETC1;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Build step behind {@code core:compressArt}: writes a {@link CompressedArt} twin for every opaque PNG
+ * in its directories. Art with transparent pixels is left alone, because ETC1 has no alpha. Runs on a
+ * plain JVM with the desktop natives. Twins newer than their PNG are kept, and twins whose PNG is gone
+ * are deleted.
+ */
+public final class ArtCompressor {
+    private static final byte[] KTX_IDENTIFIER = { (byte)0xAB, 'K', 'T', 'X', ' ', '1', '1', (byte)0xBB, '\r', '\n', 0x1A, '\n' };
+    private static final int GL_RGB = 0x1907;
+
+    private ArtCompressor() {
+    }
+
+    /** {@code ArtCompressor <assets dir>} */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) throw new IllegalArgumentException("Usage: ArtCompressor <assets dir>");
+        GdxNativesLoader.load();
+        File assets = new File(args[0]);
+        for (String dir : CompressedArt.DIRS) {
+            File[] files = new File(assets, dir).listFiles();
+            if (files == null) continue;
+            for (File file : files) {
+                String name = file.getName();
+                if (name.endsWith(CompressedArt.SUFFIX)) {
+                    if (!new File(file.getParentFile(), name.substring(0, name.length() - CompressedArt.SUFFIX.length()) + ".png").exists()) file.delete();
+                } else if (name.endsWith(".png")) {
+                    FileHandle png = new FileHandle(file);
+                    FileHandle ktx = png.sibling(png.nameWithoutExtension() + CompressedArt.SUFFIX);
+                    if (ktx.exists() && ktx.lastModified() >= png.lastModified()) continue;
+                    if (!compress(png, ktx)) System.out.println("Kept as PNG (has transparency): " + dir + name);
+                }
+            }
+        }
+    }
+
+    /** Writes {@code png} to {@code ktx} as ETC1 with mipmaps down to 1x1; returns false and writes nothing if it has alpha. */
+    public static boolean compress(FileHandle png, FileHandle ktx) throws IOException {
+        Pixmap source = new Pixmap(png);
+        try {
+            if (hasAlpha(source)) {
+                ktx.delete();
+                return false;
+            }
+            int width = source.getWidth(), height = source.getHeight();
+            int levels = 1 + 31 - Integer.numberOfLeadingZeros(Math.max(width, height));
+            OutputStream out = ktx.write(false);
+            try {
+                out.write(header(width, height, levels));
+                Pixmap level = toRgb(source, width, height);
+                for (int i = 0; i < levels; i++) {
+                    if (i > 0) {
+                        Pixmap smaller = toRgb(level, Math.max(1, width >> i), Math.max(1, height >> i));
+                        level.dispose();
+                        level = smaller;
+                    }
+                    out.write(encode(level));
+                }
+                level.dispose();
+            } finally {
+                out.close();
+            }
+            return true;
+        } finally {
+            source.dispose();
+        }
+    }
+
+    private static boolean hasAlpha(Pixmap pixmap) {
+        if (pixmap.getFormat() == Pixmap.Format.RGB888 || pixmap.getFormat() == Pixmap.Format.RGB565) return false;
+        for (int y = 0; y < pixmap.getHeight(); y++) {
+            for (int x = 0; x < pixmap.getWidth(); x++) {
+                if ((pixmap.getPixel(x, y) & 0xFF) != 0xFF) return true;
+            }
+        }
+        return false;
+    }
+
+    // Bilinear downscale (or plain copy) into the RGB888 layout the ETC1 encoder takes.
+    private static Pixmap toRgb(Pixmap from, int width, int height) {
+        Pixmap to = new Pixmap(width, height, Pixmap.Format.RGB888);
+        to.setBlending(Pixmap.Blending.None);
+        to.setFilter(Pixmap.Filter.BiLinear);
+        to.drawPixmap(from, 0, 0, from.getWidth(), from.getHeight(), 0, 0, width, height);
+        return to;
+    }
+
+    // One mip level: its byte count, then the ETC1 blocks (always a multiple of 8 bytes, so no padding).
+    private static byte[] encode(Pixmap level) {
+        ETC1.ETC1Data data = ETC1.encodeImage(level);
+        try {
+            int size = ETC1.getCompressedDataSize(level.getWidth(), level.getHeight());
+            ByteBuffer out = ByteBuffer.allocate(4 + size).order(ByteOrder.LITTLE_ENDIAN);
+            out.putInt(size);
+            ByteBuffer blocks = data.compressedData.duplicate();
+            blocks.position(data.dataOffset);
+            blocks.limit(data.dataOffset + size);
+            out.put(blocks);
+            return out.array();
+        } finally {
+            data.dispose();
+        }
+    }
+
+    private static byte[] header(int width, int height, int levels) {
+        ByteBuffer header = ByteBuffer.allocate(KTX_IDENTIFIER.length + 13 * 4).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(KTX_IDENTIFIER);
+        header.putInt(0x04030201);        // endianness
+        header.putInt(0);                 // glType: compressed
+        header.putInt(1);                 // glTypeSize
+        header.putInt(0);                 // glFormat: compressed
+        header.putInt(ETC1.ETC1_RGB8_OES); // glInternalFormat
+        header.putInt(GL_RGB);            // glBaseInternalFormat
+        header.putInt(width);
+        header.putInt(height);
+        header.putInt(0);                 // pixelDepth
+        header.putInt(0);                 // numberOfArrayElements
+        header.putInt(1);                 // numberOfFaces
+        header.putInt(levels);            // numberOfMipmapLevels
+        header.putInt(0);                 // bytesOfKeyValueData
+        return header.array();
+    }
+}
@@ -0,0 +1,214 @@
+package io.github.code_quest.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.PixmapPackerIO;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.CodeSource;
+import java.util.zip.CRC32;
+
+/**
+ * Startup packing pass: merges the optional art and the uiskin atlas regions into as few
+ * {@link PixmapPacker} pages as possible, so the menu draws from one or two textures.
+ * Results are written to local storage under a name derived from the path, size and modification
+ * time of every source; later launches with unchanged sources load the cached atlas without reading
+ * any pixels. {@link AssetService#packArt()} runs the pass on a worker thread behind the loading screen.
+ */
+public final class ArtPacker {
+    /** Packed atlases are loaded from local storage through a loader registered for this suffix. */
+    public static final String SUFFIX = ".packed.atlas";
+    public static final String WHITE = "solid-white";
+
+    static final String SKIN_ATLAS = "ui/uiskin.atlas";
+    private static final String[] ART_DIRS = { "ui/backgrounds/", "ui/avatars/", "ui/enemies/" };
+    private static final String[] ART_FILES = { "ui/logo-codequest.png" };
+    private static final String CACHE_DIR = "cache/art/";
+    private static final int VERSION = 2;
+    private static final int PAGE_SIZE = 2048, PADDING = 2;
+
+    private ArtPacker() {
+    }
+
+    /** Region name used for a packed art file, e.g. {@code ui/avatars/male.png -> ui/avatars/male}. */
+    public static String regionName(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot > path.lastIndexOf('/') ? path.substring(0, dot) : path;
+    }
+
+    /**
+     * Returns the local path of the packed atlas for the current sources, packing first on a cache miss,
+     * or null when packing is not possible here.
+     */
+    public static String pack() {
+        return pack(listSources());
+    }
+
+    /**
+     * {@link #pack()} on {@code executor}. Sources are listed on the calling thread, which must be the GL
+     * thread since that asks the GPU which art has a usable compressed twin; the rest touches no GL.
+     */
+    public static AsyncResult<String> packAsync(AsyncExecutor executor) {
+        final Array<String> sources = listSources();
+        return executor.submit(() -> pack(sources));
+    }
+
+    private static String pack(Array<String> sources) {
+        try {
+            String path = CACHE_DIR + "art-" + Long.toHexString(key(sources)) + SUFFIX;
+            FileHandle atlasFile = Gdx.files.local(path);
+            if (!atlasFile.exists()) {
+                FileHandle dir = Gdx.files.local(CACHE_DIR);
+                if (dir.exists()) dir.emptyDirectory(); // drop pages packed from older sources
+                write(sources, atlasFile);
+            }
+            return path;
+        } catch (GdxRuntimeException | IOException e) {
+            Gdx.app.error("ArtPacker", "Packing skipped, loading art unpacked", e);
+            return null;
+        }
+    }
+
+    private static Array<String> listSources() {
+        Array<String> sources = new Array<>();
+        FileHandle list = Gdx.files.internal("assets.txt");
+        if (list.exists()) {
+            for (String line : list.readString("UTF-8").split("\n")) {
+                String path = line.trim();
+                if (isArt(path)) sources.add(path);
+            }
+        } else {
+            for (String dir : ART_DIRS) {
+                for (FileHandle f : Gdx.files.internal(dir).list(".png")) sources.add(dir + f.name());
+            }
+            for (String file : ART_FILES) if (Gdx.files.internal(file).exists()) sources.add(file);
+        }
+        // Art with a compressed twin the GPU can sample loads on its own, in a fraction of a packed page's memory.
+        for (int i = sources.size - 1; i >= 0; i--) {
+            if (CompressedArt.hasTwin(sources.get(i))) sources.removeIndex(i);
+        }
+        sources.sort();
+        return sources;
+    }
+
+    private static boolean isArt(String path) {
+        if (!path.endsWith(".png")) return false;
+        for (String dir : ART_DIRS) if (path.startsWith(dir)) return true;
+        for (String file : ART_FILES) if (path.equals(file)) return true;
+        return false;
+    }
+
+    // Identifies the sources by path, size and modification time, so a warm start reads no image data.
+    private static long key(Array<String> sources) {
+        StringBuilder key = new StringBuilder().append(VERSION).append(' ').append(buildStamp()).append('\n');
+        for (String path : sources) stamp(key, Gdx.files.internal(path));
+        stamp(key, Gdx.files.internal(SKIN_ATLAS));
+        for (TextureAtlas.TextureAtlasData.Page page : skinData().getPages()) stamp(key, page.textureFile);
+        CRC32 crc = new CRC32();
+        crc.update(key.toString().getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private static void stamp(StringBuilder key, FileHandle file) {
+        key.append(file.path()).append(' ').append(file.length()).append(' ').append(file.lastModified()).append('\n');
+    }
+
+    // Files inside the game jar report no modification time, so the jar's own stands in for all of them.
+    private static long buildStamp() {
+        try {
+            CodeSource source = ArtPacker.class.getProtectionDomain().getCodeSource();
+            if (source == null || source.getLocation() == null) return 0L;
+            return new File(source.getLocation().toURI()).lastModified();
+        } catch (SecurityException | URISyntaxException | IllegalArgumentException e) {
+            return 0L;
+        }
+    }
+
+    private static TextureAtlas.TextureAtlasData skinData() {
+        FileHandle atlas = Gdx.files.internal(SKIN_ATLAS);
+        return new TextureAtlas.TextureAtlasData(atlas, atlas.parent(), false);
+    }
+
+    private static void write(Array<String> sources, FileHandle atlasFile) throws IOException {
+        PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, PADDING, true);
+        try {
+            Pixmap white = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+            white.setColor(Color.WHITE);
+            white.fill();
+            packer.pack(WHITE, white);
+            white.dispose();
+
+            packSkin(packer);
+
+            for (String path : sources) {
+                Pixmap pm = new Pixmap(Gdx.files.internal(path));
+                // Anything larger than a page stays a standalone texture.
+                if (pm.getWidth() + PADDING * 2 <= PAGE_SIZE && pm.getHeight() + PADDING * 2 <= PAGE_SIZE) {
+                    packer.pack(regionName(path), pm);
+                }
+                pm.dispose();
+            }
+            PixmapPackerIO.SaveParameters params = new PixmapPackerIO.SaveParameters();
+            new PixmapPackerIO().save(atlasFile, packer, params);
+        } finally {
+            packer.dispose();
+        }
+    }
+
+    // Copies each uiskin region into the packer under its own name; nine-patches are re-encoded with
+    // the 1px split/pad border PixmapPacker understands so the skin keeps its splits and pads.
+    private static void packSkin(PixmapPacker packer) {
+        TextureAtlas.TextureAtlasData data = skinData();
+        for (TextureAtlas.TextureAtlasData.Region region : data.getRegions()) {
+            if (region.rotate || region.originalWidth != region.width || region.originalHeight != region.height) {
+                throw new GdxRuntimeException("Cannot repack rotated or stripped skin region: " + region.name);
+            }
+        }
+        ObjectMap<TextureAtlas.TextureAtlasData.Page, Pixmap> pages = new ObjectMap<>();
+        try {
+            for (TextureAtlas.TextureAtlasData.Page page : data.getPages()) pages.put(page, new Pixmap(page.textureFile));
+            for (TextureAtlas.TextureAtlasData.Region region : data.getRegions()) {
+                int[] split = region.findValue("split");
+                int[] pad = region.findValue("pad");
+                int w = region.width, h = region.height, border = split != null ? 1 : 0;
+
+                Pixmap pm = new Pixmap(w + border * 2, h + border * 2, Pixmap.Format.RGBA8888);
+                pm.setBlending(Pixmap.Blending.None);
+                pm.drawPixmap(pages.get(region.page), border, border, region.left, region.top, w, h);
+                if (split != null) {
+                    pm.setColor(Color.BLACK);
+                    pm.drawLine(1 + split[0], 0, w - split[1], 0);
+                    pm.drawLine(0, 1 + split[2], 0, h - split[3]);
+                    if (pad != null) {
+                        pm.drawLine(1 + pad[0], h + 1, w - pad[1], h + 1);
+                        pm.drawLine(w + 1, 1 + pad[2], w + 1, h - pad[3]);
+                    }
+                }
+                packer.pack(split != null ? region.name + ".9" : region.name, pm);
+                pm.dispose();
+            }
+        } finally {
+            for (Pixmap pm : pages.values()) pm.dispose();
+        }
+    }
+
+    /** True when every region of the uiskin atlas made it into {@code atlas}, so the skin can load from it. */
+    static boolean containsSkin(TextureAtlas atlas) {
+        for (TextureAtlas.TextureAtlasData.Region region : skinData().getRegions()) {
+            if (atlas.findRegion(region.name) == null) return false;
+        }
+        return true;
+    }
+}
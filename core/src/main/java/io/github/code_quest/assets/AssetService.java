@@ -0,0 +1,455 @@
+package io.github.code_quest.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.SkinLoader;
+import com.badlogic.gdx.assets.loaders.TextureAtlasLoader;
+import com.badlogic.gdx.assets.loaders.resolvers.LocalFileHandleResolver;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import io.github.code_quest.debug.ResourceTracker;
+import io.github.code_quest.debug.Trace;
+
+/**
+ * Central, reference-counted asset cache owned by {@link io.github.code_quest.Main}.
+ * Screens take a {@link Lease}, ask it for skins, fonts, textures and the shared batch,
+ * and release the lease on dispose. Entries nobody holds stay cached (so a Menu -> Intro -> Menu
+ * round trip reuses them) until the estimated VRAM of all cached entries exceeds the budget;
+ * then the least recently released ones are unloaded first.
+ */
+public class AssetService implements Disposable {
+    public static final String SKIN = "ui/uiskin.json";
+    public static final long DEFAULT_VRAM_BUDGET = 64L * 1024 * 1024;
+    /**
+     * Owner name for everything the cache holds in the {@link ResourceTracker}; leases borrow rather than own,
+     * and what they borrow is charged to the leasing screens while they hold it.
+     */
+    public static final String OWNER = "AssetService";
+    private static final int BATCH_BYTES = 1000 * (4 * 5 * 4 + 6 * 2); // default SpriteBatch: 1000 quads of vertices and indices
+
+    private final AssetManager manager;
+    private final Batch batch;
+    private SolidDrawables solids;
+    private final FontService fonts;
+
+    private final ObjectIntMap<String> refs = new ObjectIntMap<>();
+    private final ObjectIntMap<String> bytes = new ObjectIntMap<>();
+    private final Array<String> idle = new Array<>(); // zero-ref entries, oldest first
+    private final Array<String> pending = new Array<>(); // queued by preload(), not yet accounted
+    private final ObjectSet<String> pinned = new ObjectSet<>(); // never evicted
+    private TextureAtlas packedArt;
+    private String packedArtPath;
+    private AsyncExecutor packer;
+    private AsyncResult<String> packing; // atlas path from ArtPacker, until it has been switched in
+    private final Array<String> deferredPaths = new Array<>(); // preloads waiting for the packing
+    private final Array<Class<?>> deferredTypes = new Array<>();
+    private String skinAtlasPath; // the packed pages once the skin is on them, otherwise null
+    private final Array<FontService.Pages> skinFonts = new Array<>(); // page sets the loaded skin's fonts are on
+    private long cachedBytes;
+    private long vramBudget;
+    private boolean blocking;
+
+    public AssetService() {
+        this(DEFAULT_VRAM_BUDGET);
+    }
+
+    public AssetService(long vramBudget) {
+        this(vramBudget, new SpriteBatch());
+    }
+
+    /** Takes ownership of {@code batch}; benchmarks and headless runs pass a stub here. */
+    public AssetService(long vramBudget, Batch batch) {
+        this.manager = new AssetManager();
+        manager.setLoader(Skin.class, new SkinBundleLoader(manager.getFileHandleResolver())); // ui/uiskin.skin when compiled
+        this.batch = batch;
+        if (batch instanceof SpriteBatch) ResourceTracker.created(batch, OWNER, BATCH_BYTES);
+        this.solids = new SolidDrawables();
+        this.fonts = new FontService();
+        this.vramBudget = vramBudget;
+    }
+
+    /** A lease whose assets are charged to {@code holder} in the {@link ResourceTracker} while held. */
+    public Lease lease(String holder) {
+        return new Lease(holder);
+    }
+
+    public Batch batch() {
+        return batch;
+    }
+
+    public SolidDrawables solids() {
+        return solids;
+    }
+
+    public FontService fonts() {
+        return fonts;
+    }
+
+    /**
+     * Runs {@link ArtPacker} on a worker thread. Until it finishes, {@link #preload} queues behind it and
+     * {@link #update(int)} keeps reporting work, so the pass runs behind a {@link
+     * io.github.code_quest.screens.LoadingScreen}; the atlas is then switched in with {@link #usePackedArt(String)}.
+     */
+    public void packArt() {
+        packer = new AsyncExecutor(1, "ArtPacker");
+        packing = ArtPacker.packAsync(packer);
+    }
+
+    // Waits for the packing if it is still running; only blocking loads and early leases get here before it is done.
+    private void finishPacking() {
+        String atlas = packing.get(); // pack() logs its own failures and returns null
+        packing = null;
+        packer.dispose();
+        packer = null;
+        usePackedArt(atlas);
+        for (int i = 0; i < deferredPaths.size; i++) preload(deferredPaths.get(i), deferredTypes.get(i));
+        deferredPaths.clear();
+        deferredTypes.clear();
+    }
+
+    /**
+     * Switches optional art, placeholders and the skin over to the atlas written by {@link ArtPacker#pack()}.
+     * Must be called before any screen takes a lease; a null path keeps everything unpacked.
+     */
+    public void usePackedArt(String localAtlasPath) {
+        if (localAtlasPath == null) return;
+        manager.setLoader(TextureAtlas.class, ArtPacker.SUFFIX, new TextureAtlasLoader(new LocalFileHandleResolver()));
+        pinned.add(localAtlasPath);
+        packedArtPath = localAtlasPath;
+        packedArt = acquire(localAtlasPath, TextureAtlas.class);
+
+        TextureRegion white = packedArt.findRegion(ArtPacker.WHITE);
+        if (white != null) {
+            solids.dispose();
+            solids = new SolidDrawables(white);
+        }
+        if (ArtPacker.containsSkin(packedArt)) {
+            // The skin disposes its atlas when unloaded, so a skin on the shared pages must stay resident too.
+            skinAtlasPath = localAtlasPath;
+            pinned.add(SKIN);
+        }
+    }
+
+    /** True when {@code path} was merged into the packed art pages. */
+    public boolean isPacked(String path) {
+        if (packing != null) finishPacking();
+        return packedArt != null && packedArt.findRegion(ArtPacker.regionName(path)) != null;
+    }
+
+    public AssetManager manager() {
+        return manager;
+    }
+
+    public long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    public long getVramBudget() {
+        return vramBudget;
+    }
+
+    public void setVramBudget(long vramBudget) {
+        this.vramBudget = vramBudget;
+        trim();
+    }
+
+    /**
+     * Queues an asset for asynchronous loading. Pixmaps are decoded on the manager's worker thread
+     * and uploaded on the GL thread by {@link #update(int)}. Returns false when the file is not shipped.
+     */
+    public boolean preload(String path, Class<?> type) {
+        if (!Gdx.files.internal(path).exists()) return false;
+        if (packing != null) {
+            // Whether it was packed is not known yet.
+            deferredPaths.add(path);
+            deferredTypes.add(type);
+            return true;
+        }
+        if (type == Texture.class) {
+            if (isPacked(path)) return true;
+            path = CompressedArt.resolve(path);
+        }
+        if (!manager.contains(path)) {
+            load(path, type);
+            pending.add(path);
+            Trace.beginAsset(path);
+        }
+        return true;
+    }
+
+    /**
+     * Makes {@link #update(int)} finish the whole queue at once, so a recorded session and its replay
+     * spend the same number of frames loading.
+     */
+    public void setBlocking(boolean blocking) {
+        this.blocking = blocking;
+    }
+
+    /** Advances queued loads for at most {@code millis}; returns true once the queue is empty. */
+    public boolean update(int millis) {
+        if (packing != null) {
+            if (!blocking && !packing.isDone()) return false;
+            finishPacking();
+        }
+        if (blocking) manager.finishLoading();
+        boolean done = manager.update(millis);
+        if (done && pending.size > 0) {
+            for (String path : pending) {
+                if (!manager.isLoaded(path)) continue;
+                if (!bytes.containsKey(path)) {
+                    account(path);
+                    Trace.endAsset(path, manager.getAssetType(path), bytes.get(path, 0), "streamed");
+                }
+                if (refs.get(path, 0) == 0 && !pinned.contains(path) && !idle.contains(path, false)) idle.add(path);
+            }
+            pending.clear();
+            trim();
+        }
+        return done;
+    }
+
+    public float getProgress() {
+        return packing != null ? 0f : manager.getProgress();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void load(String path, Class<?> type) {
+        AssetLoaderParameters params = SKIN.equals(path) ? skinParameter()
+            : path.endsWith(CompressedArt.SUFFIX) ? CompressedArt.parameters() : null;
+        manager.load(path, (Class)type, params);
+    }
+
+    // The skin's fonts come from FontService, made before its styles are read and held until it unloads.
+    private SkinLoader.SkinParameter skinParameter() {
+        return new SkinLoader.SkinParameter(skinAtlasPath, fonts.skinFonts(skinFonts));
+    }
+
+    private <T> T acquire(String path, Class<T> type) {
+        if (packing != null) finishPacking();
+        boolean resident = manager.isLoaded(path, type);
+        if (!resident) Trace.beginAsset(path);
+        if (!manager.contains(path)) load(path, type);
+        if (!manager.isLoaded(path, type)) manager.finishLoadingAsset(path);
+        if (!bytes.containsKey(path)) account(path);
+        int count = refs.get(path, 0);
+        if (count == 0) idle.removeValue(path, false);
+        refs.put(path, count + 1);
+        Trace.endAsset(path, type, bytes.get(path, 0), resident ? "cache" : "render thread");
+        return manager.get(path, type);
+    }
+
+    private void account(String path) {
+        Object asset = manager.get(path);
+        // A skin built on the packed pages shares textures already counted for the packed atlas.
+        int size = asset instanceof Skin && ((Skin)asset).getAtlas() == packedArt ? 0 : estimateBytes(asset);
+        bytes.put(path, size);
+        cachedBytes += size;
+        if (asset instanceof Texture || asset instanceof TextureAtlas || asset instanceof Skin) {
+            ResourceTracker.created(asset, OWNER, size);
+        }
+    }
+
+    private void release(String path) {
+        int count = refs.get(path, 0) - 1;
+        if (count > 0) {
+            refs.put(path, count);
+            return;
+        }
+        refs.remove(path, 0);
+        if (!pinned.contains(path)) idle.add(path);
+        trim();
+    }
+
+    /** Unloads idle entries, least recently released first, until the cache fits the VRAM budget. */
+    public void trim() {
+        while (cachedBytes > vramBudget && idle.size > 0) {
+            evict(idle.removeIndex(0));
+        }
+    }
+
+    private void evict(String path) {
+        cachedBytes -= bytes.remove(path, 0);
+        if (manager.isLoaded(path)) {
+            ResourceTracker.disposed(manager.get(path));
+            manager.unload(path);
+        }
+        if (SKIN.equals(path)) fonts.release(skinFonts, null);
+    }
+
+    /** Estimated VRAM of a texture, atlas or skin; 0 for anything else. */
+    public static int estimateBytes(Object asset) {
+        if (asset instanceof Texture) {
+            Texture t = (Texture)asset;
+            // Compressed data has no Pixmap format: ETC1 is half a byte per pixel, plus a third for its mips.
+            if (t.getTextureData().getType() == TextureData.TextureDataType.Custom) return t.getWidth() * t.getHeight() * 2 / 3;
+            return t.getWidth() * t.getHeight() * bytesPerPixel(t.getTextureData().getFormat());
+        }
+        if (asset instanceof Skin && ((Skin)asset).getAtlas() != null) {
+            return estimateBytes(((Skin)asset).getAtlas());
+        }
+        if (asset instanceof TextureAtlas) {
+            int total = 0;
+            for (Texture t : ((TextureAtlas)asset).getTextures()) total += estimateBytes(t);
+            return total;
+        }
+        return 0;
+    }
+
+    private static int bytesPerPixel(Pixmap.Format format) {
+        if (format == null) return 4;
+        switch (format) {
+            case Alpha:
+            case Intensity:
+                return 1;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                return 2;
+            case RGB888:
+                return 3;
+            default:
+                return 4;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (packer != null) packer.dispose(); // lets a running pass finish writing its pages
+        packing = null;
+        for (ObjectIntMap.Entry<String> entry : bytes) {
+            if (manager.isLoaded(entry.key)) ResourceTracker.disposed(manager.get(entry.key));
+        }
+        manager.dispose();
+        ResourceTracker.disposed(batch);
+        batch.dispose();
+        solids.dispose();
+        fonts.dispose();
+        skinFonts.clear();
+        refs.clear();
+        bytes.clear();
+        idle.clear();
+        pending.clear();
+        deferredPaths.clear();
+        deferredTypes.clear();
+        pinned.clear();
+        packedArt = null;
+        packedArtPath = null;
+        skinAtlasPath = null;
+        cachedBytes = 0;
+    }
+
+    /** A screen-scoped handle; everything obtained through it is released together. */
+    public class Lease {
+        private final String holder;
+        private final Array<String> held = new Array<>();
+        private final Array<FontService.Pages> fontPages = new Array<>();
+        private boolean released;
+
+        Lease(String holder) {
+            this.holder = holder;
+        }
+
+        /** The {@link ResourceTracker} owner everything held through this lease is charged to. */
+        public String getHolder() {
+            return holder;
+        }
+
+        public Batch batch() {
+            return batch;
+        }
+
+        public SolidDrawables solids() {
+            return solids;
+        }
+
+        public Skin skin() {
+            boolean first = !held.contains(SKIN, false);
+            Skin skin = get(SKIN, Skin.class);
+            if (first) fonts.hold(skinFonts, fontPages, holder); // its labels draw from these glyph pages
+            return skin;
+        }
+
+        public BitmapFont font(String name) {
+            return skin().getFont(name);
+        }
+
+        /**
+         * The UI typeface at {@code size} pixels, rasterized on demand into pages shared with every other
+         * size; null when {@link FontService} is unavailable, so the caller keeps a skin font.
+         */
+        public BitmapFont font(int size) {
+            if (released) throw new IllegalStateException("Lease already released");
+            return fonts.acquire(size, fontPages, holder);
+        }
+
+        /** {@link #font(int)}, or the skin font {@code fallback} when there is no TTF to rasterize. */
+        public BitmapFont font(int size, String fallback) {
+            BitmapFont font = font(size);
+            return font != null ? font : font(fallback);
+        }
+
+        /**
+         * Returns optional art as a region of the packed pages when it was packed, otherwise of its own
+         * texture; null when the art is not shipped.
+         */
+        public TextureRegion region(String path) {
+            // Held like any other asset, so the packed pages are charged to this screen too.
+            if (isPacked(path)) return get(packedArtPath, TextureAtlas.class).findRegion(ArtPacker.regionName(path));
+            Texture texture = texture(path);
+            return texture != null ? new TextureRegion(texture) : null;
+        }
+
+        /**
+         * Returns the texture at {@code path}, or null when the optional art is not shipped. Its
+         * {@link CompressedArt} twin is loaded instead when this GPU can sample it.
+         */
+        public Texture texture(String path) {
+            if (!Gdx.files.internal(path).exists()) return null;
+            return get(CompressedArt.resolve(path), Texture.class);
+        }
+
+        public <T> T get(String path, Class<T> type) {
+            if (released) throw new IllegalStateException("Lease already released");
+            if (!held.contains(path, false)) {
+                held.add(path);
+                T asset = acquire(path, type);
+                ResourceTracker.share(asset, holder);
+                return asset;
+            }
+            return manager.get(path, type);
+        }
+
+        /** Estimated VRAM of everything this lease holds; shared entries count fully for every holder. */
+        public long getBytes() {
+            long total = 0;
+            for (String path : held) total += bytes.get(path, 0);
+            return total;
+        }
+
+        public void release() {
+            if (released) return;
+            released = true;
+            for (int i = held.size - 1; i >= 0; i--) {
+                String path = held.get(i);
+                ResourceTracker.unshare(manager.get(path), holder);
+                AssetService.this.release(path);
+            }
+            held.clear();
+            fonts.release(fontPages, holder);
+        }
+    }
+}
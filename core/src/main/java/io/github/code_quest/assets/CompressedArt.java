@@ -0,0 +1,60 @@
+package io.github.code_quest.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.glutils.KTXTextureData;
+
+/**
+ * GPU-compressed twins of opaque background art, written next to each PNG by {@link ArtCompressor}
+ * at build time: ETC1 blocks with a full mip chain in a KTX container, half a byte per pixel instead of
+ * four. libGDX's {@link KTXTextureData} reads them without decoding and uploads the blocks as they are.
+ * A twin is only used when the GPU samples ETC1 itself; elsewhere the PNG loads (or is packed) as before,
+ * since KTXTextureData would otherwise decode the blocks on the CPU.
+ */
+public final class CompressedArt {
+    public static final String SUFFIX = ".ktx";
+    /** Art compressed at build time: full-screen, opaque, and too large to be worth a packed page. */
+    static final String[] DIRS = { "ui/backgrounds/" };
+    static final String ETC1_EXTENSION = "GL_OES_compressed_ETC1_RGB8_texture";
+
+    private CompressedArt() {
+    }
+
+    /** Path of the compressed twin of {@code path}, whether or not it exists. */
+    public static String twin(String path) {
+        return ArtPacker.regionName(path) + SUFFIX;
+    }
+
+    /** True when {@code path} has a compressed twin this GPU can sample directly. */
+    public static boolean hasTwin(String path) {
+        if (!path.endsWith(".png") || !isSupported()) return false;
+        for (String dir : DIRS) {
+            if (path.startsWith(dir)) return Gdx.files.internal(twin(path)).exists();
+        }
+        return false;
+    }
+
+    /** The twin of {@code path} when {@link #hasTwin} says so, otherwise {@code path} itself. */
+    public static String resolve(String path) {
+        return hasTwin(path) ? twin(path) : path;
+    }
+
+    public static boolean isSupported() {
+        return Gdx.graphics != null && Gdx.graphics.supportsExtension(ETC1_EXTENSION);
+    }
+
+    /**
+     * Loader settings for a twin: the stored mip chain is uploaded as is and sampled trilinearly, which
+     * keeps backgrounds smooth when dynamic resolution draws them smaller. GLES 2 cannot mip
+     * non-power-of-two textures without an extension, so those get plain linear filtering there.
+     */
+    public static TextureLoader.TextureParameter parameters() {
+        TextureLoader.TextureParameter parameter = new TextureLoader.TextureParameter();
+        boolean npotMips = Gdx.gl30 != null || Gdx.graphics.supportsExtension("GL_OES_texture_npot")
+            || Gdx.graphics.supportsExtension("GL_ARB_texture_non_power_of_two");
+        parameter.minFilter = npotMips ? Texture.TextureFilter.MipMapLinearLinear : Texture.TextureFilter.Linear;
+        parameter.magFilter = Texture.TextureFilter.Linear;
+        return parameter;
+    }
+}
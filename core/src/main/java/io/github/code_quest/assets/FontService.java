@@ -0,0 +1,200 @@
+package io.github.code_quest.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import io.github.code_quest.debug.ResourceTracker;
+
+/**
+ * Vector UI typeface rasterized by FreeType as text needs it. Sizes are rounded to buckets and every
+ * bucket draws its glyphs into the same {@link PixmapPacker} pages, so labels of any size and the code
+ * rain share one texture. When those pages fill up, later fonts go into a fresh set; sets that no lease
+ * holds any more are dropped, least recently used first, once the game holds more than {@link #MAX_PAGES}.
+ * <p>
+ * The skin's fonts come from here too ({@link #skinFonts}), so labels and code rain share the pages.
+ * Where FreeType has no natives (the headless harness), {@link #acquire} returns null, callers keep their
+ * skin fonts and the skin falls back to libGDX's built-in font. Owned by {@link AssetService}; screens
+ * get fonts through {@link AssetService.Lease#font(int)}.
+ */
+public class FontService implements Disposable {
+    public static final String TTF = "ui/fonts/ui.ttf";
+    public static final String OWNER = "FontService";
+    /** Font names the skin's styles refer to, and the pixel size each is generated at. */
+    static final String[] SKIN_FONTS = {"default", "default-font", "font", "list", "subtitle", "window"};
+    static final int[] SKIN_FONT_SIZES = {18, 18, 18, 12, 16, 24};
+    static final int PAGE_SIZE = 1024;
+    static final int MAX_PAGES = 3;
+    private static final int PAGE_BYTES = PAGE_SIZE * PAGE_SIZE * 4;
+
+    /** One set of glyph pages and the sizes generated into it. */
+    public static final class Pages {
+        final PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, 2, false);
+        final IntMap<BitmapFont> sizes = new IntMap<>();
+        final Array<PixmapPacker.Page> tracked = new Array<>();
+        final ObjectIntMap<String> holders = new ObjectIntMap<>(); // leases per screen; each page is shared once per screen
+        int refs;
+        long lastUsed;
+    }
+
+    private final FreeTypeFontGenerator generator; // null when unavailable; incremental fonts keep using it
+    private final Array<Pages> sets = new Array<>(); // the last one takes new sizes
+    private long clock;
+
+    public FontService() {
+        this(Gdx.files.internal(TTF));
+    }
+
+    public FontService(FileHandle ttf) {
+        this.generator = open(ttf);
+    }
+
+    private static FreeTypeFontGenerator open(FileHandle ttf) {
+        if (!ttf.exists()) return null;
+        try {
+            return new FreeTypeFontGenerator(ttf);
+        } catch (GdxRuntimeException | LinkageError e) {
+            Gdx.app.error("FontService", "FreeType unavailable, keeping the bitmap fonts", e);
+            return null;
+        }
+    }
+
+    public boolean isAvailable() {
+        return generator != null;
+    }
+
+    /** Size actually generated for a request of {@code size} pixels: steps of 2 up to 24, 4 up to 48, 8 beyond. */
+    public static int bucket(int size) {
+        int step = size < 24 ? 2 : size < 48 ? 4 : 8;
+        return Math.max(step, Math.round(size / (float)step) * step);
+    }
+
+    /**
+     * The typeface at {@link #bucket(int) bucket(size)}, holding its page set for {@code holder} until
+     * {@link #release(Array, String)} and charging its pages to {@code owner}, or to nobody when null; null
+     * when FreeType or the TTF is unavailable.
+     */
+    public BitmapFont acquire(int size, Array<Pages> holder, String owner) {
+        if (generator == null) return null;
+        Pages pages = current();
+        int bucket = bucket(size);
+        BitmapFont font = pages.sizes.get(bucket);
+        if (font == null) {
+            FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
+            parameter.size = bucket;
+            parameter.incremental = true; // glyphs are rasterized the first time text uses them
+            parameter.characters = " ";
+            parameter.packer = pages.packer;
+            parameter.minFilter = parameter.magFilter = Texture.TextureFilter.Linear;
+            font = generator.generateFont(parameter);
+            pages.sizes.put(bucket, font);
+        }
+        pages.lastUsed = ++clock;
+        hold(pages, holder, owner);
+        return font;
+    }
+
+    /**
+     * Fonts for every name in {@link #SKIN_FONTS}, to add to a skin before its styles are read; their page
+     * sets are held for {@code holder} without charging anyone. Falls back to libGDX's built-in font.
+     */
+    public ObjectMap<String, Object> skinFonts(Array<Pages> holder) {
+        ObjectMap<String, Object> fonts = new ObjectMap<>();
+        BitmapFont fallback = null;
+        for (int i = 0; i < SKIN_FONTS.length; i++) {
+            BitmapFont font = acquire(SKIN_FONT_SIZES[i], holder, null);
+            if (font == null) font = fallback != null ? fallback : (fallback = new BitmapFont());
+            fonts.put(SKIN_FONTS[i], font);
+        }
+        return fonts;
+    }
+
+    /** Holds every set in {@code sets} for {@code holder} as well, charging their pages to {@code owner}. */
+    public void hold(Array<Pages> sets, Array<Pages> holder, String owner) {
+        for (Pages pages : sets) hold(pages, holder, owner);
+    }
+
+    private static void hold(Pages pages, Array<Pages> holder, String owner) {
+        track(pages);
+        if (holder.contains(pages, true)) return;
+        holder.add(pages);
+        pages.refs++;
+        if (owner != null && pages.holders.getAndIncrement(owner, 0, 1) == 0) {
+            for (PixmapPacker.Page page : pages.tracked) ResourceTracker.share(page, owner);
+        }
+    }
+
+    /** Gives back every page set {@code holder} took for {@code owner}, then drops idle sets while over the page budget. */
+    public void release(Array<Pages> holder, String owner) {
+        for (Pages pages : holder) {
+            track(pages); // pages that spilled over while held are charged before the owner lets go
+            pages.refs--;
+            if (owner != null && pages.holders.getAndIncrement(owner, 0, -1) == 1) {
+                pages.holders.remove(owner, 0);
+                for (PixmapPacker.Page page : pages.tracked) ResourceTracker.unshare(page, owner);
+            }
+        }
+        holder.clear();
+        trim();
+    }
+
+    // New sizes go to the newest set until glyphs have spilled onto a second page.
+    private Pages current() {
+        Pages pages = sets.size > 0 ? sets.peek() : null;
+        if (pages == null || pages.packer.getPages().size > 1) {
+            pages = new Pages();
+            sets.add(pages);
+            trim();
+        }
+        return pages;
+    }
+
+    private void trim() {
+        int total = 0;
+        for (Pages pages : sets) total += pages.packer.getPages().size;
+        while (total > MAX_PAGES) {
+            Pages oldest = null;
+            for (int i = 0; i < sets.size - 1; i++) {
+                Pages pages = sets.get(i);
+                if (pages.refs == 0 && (oldest == null || pages.lastUsed < oldest.lastUsed)) oldest = pages;
+            }
+            if (oldest == null) return; // everything left is on screen
+            total -= oldest.packer.getPages().size;
+            sets.removeValue(oldest, true);
+            drop(oldest);
+        }
+    }
+
+    // Pages are made as glyphs spill over, so the ledger catches up whenever a set is handed out or given back.
+    private static void track(Pages pages) {
+        for (PixmapPacker.Page page : pages.packer.getPages()) {
+            if (pages.tracked.contains(page, true)) continue;
+            pages.tracked.add(page);
+            ResourceTracker.created(page, OWNER, PAGE_BYTES);
+            for (ObjectIntMap.Entry<String> holder : pages.holders) ResourceTracker.share(page, holder.key);
+        }
+    }
+
+    // The packer owns the page textures; the fonts only reference them.
+    private static void drop(Pages pages) {
+        for (PixmapPacker.Page page : pages.tracked) ResourceTracker.disposed(page);
+        pages.packer.dispose();
+        pages.sizes.clear();
+    }
+
+    @Override
+    public void dispose() {
+        for (Pages pages : sets) drop(pages);
+        sets.clear();
+        if (generator != null) generator.dispose();
+    }
+}
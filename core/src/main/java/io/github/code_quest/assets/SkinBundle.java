@@ -0,0 +1,261 @@
+package io.github.code_quest.assets;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.utils.BaseDrawable;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+import com.badlogic.gdx.scenes.scene2d.utils.TiledDrawable;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Field;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * A skin compiled by {@link SkinCompiler}: atlas regions, font metrics and styles in one binary file
+ * next to the skin's JSON. Reading it skips the .atlas, .fnt and JSON text parsers and Json's
+ * per-field type lookups. Styles are still filled through field handles, but those are resolved
+ * once per field the skin uses. {@link #read} needs no GL context and runs on the loader thread;
+ * {@link #apply} builds the skin on the render thread.
+ * <p>
+ * Resources are stored in JSON order and references are resolved against the skin as they are read,
+ * exactly as {@link Skin#load} does, so later entries may refer to earlier ones and redefine them.
+ */
+final class SkinBundle {
+    static final String SUFFIX = ".skin";
+    static final int MAGIC = 0x43515348; // "CQSH"
+    static final int VERSION = 1;
+
+    // Resource kinds
+    static final byte FONT = 0, COLOR = 1, TINTED = 2, TILED = 3, STYLE = 4;
+    // Value tags
+    static final byte REF = 0, RGBA = 1, FLOAT = 2, INT = 3, BOOL = 4, STRING = 5, OBJECT = 6;
+
+    /** Atlas pages and regions; page textures are filled in by the loader before the atlas is built. */
+    final TextureAtlasData atlas = new TextureAtlasData();
+    private final FileHandle file;
+    private final DataInputStream in;
+    private final Array<Class> classes = new Array<>();
+    private final Array<Field> fields = new Array<>();
+
+    private SkinBundle(FileHandle file, DataInputStream in) {
+        this.file = file;
+        this.in = in;
+    }
+
+    /**
+     * The bundle compiled from {@code json}, or null when there is none or the JSON was edited on disk
+     * since, so the JSON loads instead. Files on the classpath report no modification time.
+     */
+    static FileHandle find(FileHandle json) {
+        FileHandle bundle = json.sibling(json.nameWithoutExtension() + SUFFIX);
+        if (!bundle.exists()) return null;
+        return json.lastModified() > bundle.lastModified() ? null : bundle;
+    }
+
+    /** Reads the atlas section and the class and field tables; the resources are left for {@link #apply}. */
+    static SkinBundle read(FileHandle file) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(file.readBytes()));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IOException("Not a version " + VERSION + " skin bundle: " + file);
+        SkinBundle bundle = new SkinBundle(file, in);
+        bundle.readAtlas();
+        try {
+            for (int i = 0, n = in.readUnsignedShort(); i < n; i++) bundle.classes.add(ClassReflection.forName(in.readUTF()));
+            for (int i = 0, n = in.readUnsignedShort(); i < n; i++) {
+                Class type = bundle.classes.get(in.readUnsignedShort());
+                bundle.fields.add(ClassReflection.getField(type, in.readUTF()));
+            }
+        } catch (ReflectionException e) {
+            throw new IOException("Skin bundle names a class or field this build lacks: " + file, e);
+        }
+        return bundle;
+    }
+
+    private void readAtlas() throws IOException {
+        FileHandle dir = file.parent();
+        Array<TextureAtlasData.Page> pages = atlas.getPages();
+        for (int i = 0, n = in.readUnsignedShort(); i < n; i++) {
+            TextureAtlasData.Page page = new TextureAtlasData.Page();
+            page.textureFile = dir.child(in.readUTF());
+            page.width = in.readFloat();
+            page.height = in.readFloat();
+            page.format = Pixmap.Format.valueOf(in.readUTF());
+            page.minFilter = Texture.TextureFilter.valueOf(in.readUTF());
+            page.magFilter = Texture.TextureFilter.valueOf(in.readUTF());
+            page.uWrap = Texture.TextureWrap.valueOf(in.readUTF());
+            page.vWrap = Texture.TextureWrap.valueOf(in.readUTF());
+            page.useMipMaps = page.minFilter.isMipMap();
+            page.pma = in.readBoolean();
+            pages.add(page);
+        }
+        for (int i = 0, n = in.readInt(); i < n; i++) {
+            TextureAtlasData.Region region = new TextureAtlasData.Region();
+            region.page = pages.get(in.readUnsignedShort());
+            region.name = in.readUTF();
+            region.index = in.readInt();
+            region.left = in.readInt();
+            region.top = in.readInt();
+            region.width = in.readInt();
+            region.height = in.readInt();
+            region.offsetX = in.readFloat();
+            region.offsetY = in.readFloat();
+            region.originalWidth = in.readInt();
+            region.originalHeight = in.readInt();
+            region.degrees = in.readShort();
+            region.rotate = in.readBoolean();
+            region.flip = in.readBoolean();
+            int values = in.readUnsignedByte();
+            if (values > 0) {
+                region.names = new String[values];
+                region.values = new int[values][];
+                for (int v = 0; v < values; v++) {
+                    region.names[v] = in.readUTF();
+                    int[] ints = region.values[v] = new int[in.readUnsignedByte()];
+                    for (int k = 0; k < ints.length; k++) ints[k] = in.readInt();
+                }
+            }
+            atlas.getRegions().add(region);
+        }
+    }
+
+    /** Adds every resource of the bundle to {@code skin}, whose atlas must already hold the regions they name. */
+    void apply(Skin skin) throws IOException {
+        try {
+            for (int i = 0, n = in.readInt(); i < n; i++) {
+                byte kind = in.readByte();
+                String name = in.readUTF();
+                switch (kind) {
+                    case FONT:
+                        skin.add(name, readFont(skin), BitmapFont.class);
+                        break;
+                    case COLOR:
+                        skin.add(name, readValue(skin), Color.class);
+                        break;
+                    case TINTED: {
+                        String drawableName = in.readUTF();
+                        Color color = (Color)readValue(skin);
+                        Drawable drawable = skin.newDrawable(drawableName, color);
+                        if (drawable instanceof BaseDrawable) ((BaseDrawable)drawable).setName(name + " (" + drawableName + ", " + color + ")");
+                        skin.add(name, drawable, Drawable.class);
+                        break;
+                    }
+                    case TILED: {
+                        TiledDrawable tiled = new TiledDrawable(skin.getRegion(in.readUTF()));
+                        tiled.setMinWidth(in.readFloat());
+                        tiled.setMinHeight(in.readFloat());
+                        if (in.readBoolean()) tiled.getColor().set((Color)readValue(skin));
+                        skin.add(name, tiled, TiledDrawable.class);
+                        skin.add(name, tiled, Drawable.class);
+                        break;
+                    }
+                    case STYLE: {
+                        Class type = classes.get(in.readUnsignedShort());
+                        skin.add(name, readObject(skin, type), type);
+                        break;
+                    }
+                    default:
+                        throw new IOException("Unknown resource kind " + kind + " in " + file);
+                }
+            }
+        } catch (ReflectionException e) {
+            throw new IOException("Could not build a style from " + file, e);
+        }
+    }
+
+    private BitmapFont readFont(Skin skin) throws IOException {
+        TextureRegion region = skin.getRegion(in.readUTF());
+        float scaledSize = in.readFloat();
+        boolean markupEnabled = in.readBoolean(), integerPositions = in.readBoolean();
+
+        BitmapFont.BitmapFontData data = new BitmapFont.BitmapFontData();
+        data.fontFile = file.sibling(in.readUTF());
+        data.flipped = in.readBoolean();
+        data.padTop = in.readFloat();
+        data.padRight = in.readFloat();
+        data.padBottom = in.readFloat();
+        data.padLeft = in.readFloat();
+        data.lineHeight = in.readFloat();
+        data.capHeight = in.readFloat();
+        data.ascent = in.readFloat();
+        data.descent = in.readFloat();
+        data.down = in.readFloat();
+        data.blankLineScale = in.readFloat();
+        data.scaleX = in.readFloat();
+        data.scaleY = in.readFloat();
+        data.cursorX = in.readFloat();
+        data.spaceXadvance = in.readFloat();
+        data.xHeight = in.readFloat();
+        data.imagePaths = new String[in.readUnsignedByte()];
+        for (int i = 0; i < data.imagePaths.length; i++) data.imagePaths[i] = in.readUTF();
+        for (int i = 0, n = in.readInt(); i < n; i++) {
+            BitmapFont.Glyph glyph = readGlyph();
+            data.setGlyph(glyph.id, glyph);
+        }
+        if (in.readBoolean()) data.missingGlyph = readGlyph();
+
+        BitmapFont font = new BitmapFont(data, Array.with(region), true);
+        data.markupEnabled = markupEnabled;
+        font.setUseIntegerPositions(integerPositions);
+        if (scaledSize != -1) data.setScale(scaledSize / font.getCapHeight());
+        return font;
+    }
+
+    private BitmapFont.Glyph readGlyph() throws IOException {
+        BitmapFont.Glyph glyph = new BitmapFont.Glyph();
+        glyph.id = in.readInt();
+        glyph.srcX = in.readShort();
+        glyph.srcY = in.readShort();
+        glyph.width = in.readShort();
+        glyph.height = in.readShort();
+        glyph.xoffset = in.readShort();
+        glyph.yoffset = in.readShort();
+        glyph.xadvance = in.readShort();
+        glyph.page = in.readUnsignedByte();
+        glyph.fixedWidth = in.readBoolean();
+        for (int i = 0, n = in.readUnsignedShort(); i < n; i++) glyph.setKerning(in.readChar(), in.readByte());
+        return glyph;
+    }
+
+    private Object readObject(Skin skin, Class type) throws IOException, ReflectionException {
+        Object object = ClassReflection.newInstance(type);
+        for (int i = 0, n = in.readUnsignedByte(); i < n; i++) {
+            Field field = fields.get(in.readUnsignedShort());
+            field.set(object, readValue(skin));
+        }
+        return object;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readValue(Skin skin) throws IOException, ReflectionException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case REF: {
+                Class type = classes.get(in.readUnsignedShort());
+                return skin.get(in.readUTF(), type);
+            }
+            case RGBA:
+                return new Color(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat());
+            case FLOAT:
+                return in.readFloat();
+            case INT:
+                return in.readInt();
+            case BOOL:
+                return in.readBoolean();
+            case STRING:
+                return in.readUTF();
+            case OBJECT:
+                return readObject(skin, classes.get(in.readUnsignedShort()));
+            default:
+                throw new IOException("Unknown value tag " + tag + " in " + file);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.code_quest.assets;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.SkinLoader;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.io.IOException;
+
+/**
+ * {@link SkinLoader} that loads a skin from the {@link SkinBundle} compiled next to its JSON, and from
+ * the JSON itself when there is no bundle or the JSON is newer. The bundle is read on the loader thread;
+ * its atlas replaces the .atlas file unless the parameter names an atlas, such as the packed art pages.
+ */
+public class SkinBundleLoader extends SkinLoader {
+    private SkinBundle bundle; // between getDependencies and loadSync, like TextureAtlasLoader's data
+
+    public SkinBundleLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, SkinParameter parameter) {
+        FileHandle binary = SkinBundle.find(file);
+        if (binary == null) {
+            bundle = null;
+            return super.getDependencies(fileName, file, parameter);
+        }
+        try {
+            bundle = SkinBundle.read(binary);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't read skin bundle: " + binary, e);
+        }
+        Array<AssetDescriptor> deps = new Array<>();
+        if (parameter != null && parameter.textureAtlasPath != null) {
+            deps.add(new AssetDescriptor<>(parameter.textureAtlasPath, TextureAtlas.class));
+            return deps;
+        }
+        for (TextureAtlasData.Page page : bundle.atlas.getPages()) {
+            TextureLoader.TextureParameter params = new TextureLoader.TextureParameter();
+            params.format = page.format;
+            params.genMipMaps = page.useMipMaps;
+            params.minFilter = page.minFilter;
+            params.magFilter = page.magFilter;
+            deps.add(new AssetDescriptor<>(page.textureFile, Texture.class, params));
+        }
+        return deps;
+    }
+
+    @Override
+    public Skin loadSync(AssetManager manager, String fileName, FileHandle file, SkinParameter parameter) {
+        SkinBundle bundle = this.bundle;
+        this.bundle = null;
+        if (bundle == null) return super.loadSync(manager, fileName, file, parameter);
+
+        TextureAtlas atlas;
+        if (parameter != null && parameter.textureAtlasPath != null) {
+            atlas = manager.get(parameter.textureAtlasPath, TextureAtlas.class);
+        } else {
+            for (TextureAtlasData.Page page : bundle.atlas.getPages()) {
+                page.texture = manager.get(page.textureFile.path().replace('\\', '/'), Texture.class);
+            }
+            atlas = new TextureAtlas(bundle.atlas);
+        }
+        Skin skin = newSkin(atlas);
+        if (parameter != null && parameter.resources != null) {
+            for (ObjectMap.Entry<String, Object> entry : parameter.resources.entries()) skin.add(entry.key, entry.value);
+        }
+        try {
+            bundle.apply(skin);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't build skin from bundle for: " + fileName, e);
+        }
+        return skin;
+    }
+}
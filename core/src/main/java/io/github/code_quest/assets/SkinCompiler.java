@@ -0,0 +1,348 @@
+package io.github.code_quest.assets;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.utils.TiledDrawable;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Field;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static io.github.code_quest.assets.SkinBundle.*;
+
+/**
+ * Build step behind {@code core:compileSkin}: turns a skin JSON, the atlas next to it and the fonts it
+ * names into a {@link SkinBundle}. Runs on a plain JVM with no libGDX backend. Sections must use fully
+ * qualified class names, fonts must have their page in the atlas, and styles may not use {@code parent};
+ * anything else fails the build rather than producing a skin that differs from the JSON.
+ */
+public final class SkinCompiler {
+    private final FileHandle json;
+    private final TextureAtlasData atlas;
+    private final ObjectSet<String> regions = new ObjectSet<>();
+    private final Array<Class> classes = new Array<>();
+    private final ObjectIntMap<Class> classIndex = new ObjectIntMap<>();
+    private final Array<Field> fields = new Array<>();
+    private final Array<Class> fieldOwners = new Array<>();
+    private final ObjectIntMap<String> fieldIndex = new ObjectIntMap<>();
+    private final ByteArrayOutputStream resources = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(resources);
+
+    /** {@code SkinCompiler <skin.json> <out.skin>} */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) throw new IllegalArgumentException("Usage: SkinCompiler <skin.json> <out.skin>");
+        compile(new FileHandle(args[0]), new FileHandle(args[1]));
+    }
+
+    public static void compile(FileHandle json, FileHandle bundle) throws IOException {
+        new SkinCompiler(json).write(bundle);
+    }
+
+    private SkinCompiler(FileHandle json) {
+        this.json = json;
+        FileHandle atlasFile = json.sibling(json.nameWithoutExtension() + ".atlas");
+        this.atlas = new TextureAtlasData(atlasFile, atlasFile.parent(), false);
+        for (TextureAtlasData.Region region : atlas.getRegions()) regions.add(region.name);
+    }
+
+    private void write(FileHandle bundle) throws IOException {
+        int count = 0;
+        for (JsonValue section = new JsonReader().parse(json).child; section != null; section = section.next) {
+            Class type = classFor(section.name);
+            for (JsonValue entry = section.child; entry != null; entry = entry.next) {
+                writeResource(type, entry);
+                count++;
+            }
+        }
+
+        DataOutputStream file = new DataOutputStream(bundle.write(false));
+        try {
+            file.writeInt(MAGIC);
+            file.writeInt(VERSION);
+            writeAtlas(file);
+            file.writeShort(classes.size);
+            for (Class type : classes) file.writeUTF(type.getName());
+            file.writeShort(fields.size);
+            for (int i = 0; i < fields.size; i++) {
+                file.writeShort(classIndex.get(fieldOwners.get(i), -1));
+                file.writeUTF(fields.get(i).getName());
+            }
+            file.writeInt(count);
+            resources.writeTo(file);
+        } finally {
+            file.close();
+        }
+    }
+
+    private void writeAtlas(DataOutputStream file) throws IOException {
+        String dir = json.parent().path() + "/";
+        Array<TextureAtlasData.Page> pages = atlas.getPages();
+        file.writeShort(pages.size);
+        for (TextureAtlasData.Page page : pages) {
+            String path = page.textureFile.path();
+            file.writeUTF(path.startsWith(dir) ? path.substring(dir.length()) : page.textureFile.name());
+            file.writeFloat(page.width);
+            file.writeFloat(page.height);
+            file.writeUTF(page.format.name());
+            file.writeUTF(page.minFilter.name());
+            file.writeUTF(page.magFilter.name());
+            file.writeUTF(page.uWrap.name());
+            file.writeUTF(page.vWrap.name());
+            file.writeBoolean(page.pma);
+        }
+        file.writeInt(atlas.getRegions().size);
+        for (TextureAtlasData.Region region : atlas.getRegions()) {
+            file.writeShort(pages.indexOf(region.page, true));
+            file.writeUTF(region.name);
+            file.writeInt(region.index);
+            file.writeInt(region.left);
+            file.writeInt(region.top);
+            file.writeInt(region.width);
+            file.writeInt(region.height);
+            file.writeFloat(region.offsetX);
+            file.writeFloat(region.offsetY);
+            file.writeInt(region.originalWidth);
+            file.writeInt(region.originalHeight);
+            file.writeShort(region.degrees);
+            file.writeBoolean(region.rotate);
+            file.writeBoolean(region.flip);
+            int values = region.names != null ? region.names.length : 0;
+            file.writeByte(values);
+            for (int v = 0; v < values; v++) {
+                file.writeUTF(region.names[v]);
+                file.writeByte(region.values[v].length);
+                for (int value : region.values[v]) file.writeInt(value);
+            }
+        }
+    }
+
+    private void writeResource(Class type, JsonValue entry) throws IOException {
+        if (type == BitmapFont.class) {
+            out.writeByte(FONT);
+            out.writeUTF(entry.name);
+            writeFont(entry);
+        } else if (type == Color.class) {
+            out.writeByte(COLOR);
+            out.writeUTF(entry.name);
+            writeColor(entry);
+        } else if (type == Skin.TintedDrawable.class) {
+            out.writeByte(TINTED);
+            out.writeUTF(entry.name);
+            out.writeUTF(entry.getString("name"));
+            JsonValue color = entry.get("color");
+            if (color == null) throw error(entry, "TintedDrawable needs a color");
+            writeColor(color);
+        } else if (type == TiledDrawable.class) {
+            out.writeByte(TILED);
+            out.writeUTF(entry.name);
+            for (JsonValue field = entry.child; field != null; field = field.next) {
+                if (!field.name.equals("region") && !field.name.equals("minWidth") && !field.name.equals("minHeight") && !field.name.equals("color")) {
+                    throw error(entry, "unsupported TiledDrawable field " + field.name);
+                }
+            }
+            out.writeUTF(region(entry, entry.getString("region")));
+            out.writeFloat(entry.getFloat("minWidth", 0));
+            out.writeFloat(entry.getFloat("minHeight", 0));
+            JsonValue color = entry.get("color");
+            out.writeBoolean(color != null);
+            if (color != null) writeColor(color);
+        } else {
+            out.writeByte(STYLE);
+            out.writeUTF(entry.name);
+            out.writeShort(indexOf(type));
+            writeObject(type, entry);
+        }
+    }
+
+    private void writeFont(JsonValue entry) throws IOException {
+        FileHandle fontFile = json.parent().child(entry.getString("file"));
+        if (!fontFile.exists()) throw error(entry, "font file not found: " + fontFile);
+        boolean flip = entry.getBoolean("flip", false);
+        BitmapFont.BitmapFontData data = new BitmapFont.BitmapFontData(fontFile, flip);
+        if (data.imagePaths.length != 1) throw error(entry, "multi-page fonts are not supported");
+
+        out.writeUTF(region(entry, fontFile.nameWithoutExtension()));
+        out.writeFloat(entry.getFloat("scaledSize", -1));
+        out.writeBoolean(entry.getBoolean("markupEnabled", false));
+        out.writeBoolean(entry.getBoolean("useIntegerPositions", true));
+
+        out.writeUTF(fontFile.name());
+        out.writeBoolean(data.flipped);
+        out.writeFloat(data.padTop);
+        out.writeFloat(data.padRight);
+        out.writeFloat(data.padBottom);
+        out.writeFloat(data.padLeft);
+        out.writeFloat(data.lineHeight);
+        out.writeFloat(data.capHeight);
+        out.writeFloat(data.ascent);
+        out.writeFloat(data.descent);
+        out.writeFloat(data.down);
+        out.writeFloat(data.blankLineScale);
+        out.writeFloat(data.scaleX);
+        out.writeFloat(data.scaleY);
+        out.writeFloat(data.cursorX);
+        out.writeFloat(data.spaceXadvance);
+        out.writeFloat(data.xHeight);
+        out.writeByte(data.imagePaths.length);
+        for (String path : data.imagePaths) out.writeUTF(path);
+
+        Array<BitmapFont.Glyph> glyphs = new Array<>();
+        for (BitmapFont.Glyph[] page : data.glyphs) {
+            if (page == null) continue;
+            for (BitmapFont.Glyph glyph : page) if (glyph != null) glyphs.add(glyph);
+        }
+        out.writeInt(glyphs.size);
+        for (BitmapFont.Glyph glyph : glyphs) writeGlyph(glyph);
+        out.writeBoolean(data.missingGlyph != null);
+        if (data.missingGlyph != null) writeGlyph(data.missingGlyph);
+    }
+
+    private void writeGlyph(BitmapFont.Glyph glyph) throws IOException {
+        out.writeInt(glyph.id);
+        out.writeShort(glyph.srcX);
+        out.writeShort(glyph.srcY);
+        out.writeShort(glyph.width);
+        out.writeShort(glyph.height);
+        out.writeShort(glyph.xoffset);
+        out.writeShort(glyph.yoffset);
+        out.writeShort(glyph.xadvance);
+        out.writeByte(glyph.page);
+        out.writeBoolean(glyph.fixedWidth);
+        int pairs = 0;
+        if (glyph.kerning != null) {
+            for (byte[] page : glyph.kerning) {
+                if (page == null) continue;
+                for (byte amount : page) if (amount != 0) pairs++;
+            }
+        }
+        out.writeShort(pairs);
+        if (pairs == 0) return;
+        for (int p = 0; p < glyph.kerning.length; p++) {
+            byte[] page = glyph.kerning[p];
+            if (page == null) continue;
+            for (int i = 0; i < page.length; i++) {
+                if (page[i] == 0) continue;
+                out.writeChar(p * page.length + i);
+                out.writeByte(page[i]);
+            }
+        }
+    }
+
+    // Same rules as Skin's Color serializer: a name, a hex string, or r, g, b and a.
+    private void writeColor(JsonValue value) throws IOException {
+        if (value.isString()) {
+            out.writeByte(REF);
+            out.writeShort(indexOf(Color.class));
+            out.writeUTF(value.asString());
+            return;
+        }
+        String hex = value.getString("hex", null);
+        Color color = hex != null ? Color.valueOf(hex)
+            : new Color(value.getFloat("r", 0f), value.getFloat("g", 0f), value.getFloat("b", 0f), value.getFloat("a", 1f));
+        out.writeByte(RGBA);
+        out.writeFloat(color.r);
+        out.writeFloat(color.g);
+        out.writeFloat(color.b);
+        out.writeFloat(color.a);
+    }
+
+    private void writeObject(Class type, JsonValue object) throws IOException {
+        int count = 0;
+        for (JsonValue value = object.child; value != null; value = value.next) {
+            if (value.name.equals("parent")) throw error(object, "styles with a parent are not supported");
+            if (!value.isNull()) count++;
+        }
+        if (count > 255) throw error(object, "too many fields");
+        out.writeByte(count);
+        for (JsonValue value = object.child; value != null; value = value.next) {
+            if (value.isNull()) continue;
+            Field field = field(type, value);
+            out.writeShort(fieldIndex.get(type.getName() + "#" + field.getName(), -1));
+            writeValue(field.getType(), value);
+        }
+    }
+
+    // Mirrors how Skin's Json reads a style field: strings name skin resources unless the field is a string.
+    private void writeValue(Class type, JsonValue value) throws IOException {
+        if (value.isString() && type != String.class && type != CharSequence.class) {
+            out.writeByte(REF);
+            out.writeShort(indexOf(type));
+            out.writeUTF(value.asString());
+        } else if (type == String.class || type == CharSequence.class) {
+            out.writeByte(STRING);
+            out.writeUTF(value.asString());
+        } else if (type == float.class || type == Float.class) {
+            out.writeByte(FLOAT);
+            out.writeFloat(value.asFloat());
+        } else if (type == int.class || type == Integer.class) {
+            out.writeByte(INT);
+            out.writeInt(value.asInt());
+        } else if (type == boolean.class || type == Boolean.class) {
+            out.writeByte(BOOL);
+            out.writeBoolean(value.asBoolean());
+        } else if (type == Color.class && value.isObject()) {
+            writeColor(value);
+        } else if (value.isObject()) {
+            out.writeByte(OBJECT);
+            out.writeShort(indexOf(type));
+            writeObject(type, value);
+        } else {
+            throw error(value, "unsupported value for " + type.getSimpleName());
+        }
+    }
+
+    private Field field(Class type, JsonValue value) {
+        String key = type.getName() + "#" + value.name;
+        try {
+            Field field = ClassReflection.getField(type, value.name);
+            if (!fieldIndex.containsKey(key)) {
+                indexOf(type);
+                fieldIndex.put(key, fields.size);
+                fields.add(field);
+                fieldOwners.add(type);
+            }
+            return field;
+        } catch (ReflectionException e) {
+            throw error(value, type.getSimpleName() + " has no public field " + value.name);
+        }
+    }
+
+    private int indexOf(Class type) {
+        int index = classIndex.get(type, -1);
+        if (index == -1) {
+            index = classes.size;
+            classIndex.put(type, index);
+            classes.add(type);
+        }
+        return index;
+    }
+
+    private String region(JsonValue entry, String name) {
+        if (!regions.contains(name)) throw error(entry, "no region " + name + " in the skin atlas");
+        return name;
+    }
+
+    private Class classFor(String name) {
+        try {
+            return ClassReflection.forName(name);
+        } catch (ReflectionException e) {
+            throw new GdxRuntimeException("Skin section is not a fully qualified class name: " + name, e);
+        }
+    }
+
+    private GdxRuntimeException error(JsonValue value, String message) {
+        return new GdxRuntimeException(json.name() + ": " + value.name + ": " + message);
+    }
+}
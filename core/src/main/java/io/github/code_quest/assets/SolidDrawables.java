@@ -0,0 +1,70 @@
+package io.github.code_quest.assets;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.ui.Image;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.Scaling;
+import io.github.code_quest.debug.ResourceTracker;
+
+/**
+ * Solid-color placeholders drawn from one shared white pixel. Each color gets a tinted drawable
+ * that is cached for the life of the game, so building a screen creates no textures and placeholders
+ * batch together with anything else on the same texture.
+ */
+public class SolidDrawables implements Disposable {
+    private final Texture texture;
+    private final TextureRegion white;
+    private final IntMap<Drawable> byColor = new IntMap<>();
+
+    public SolidDrawables() {
+        Pixmap pm = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        pm.setColor(Color.WHITE);
+        pm.drawPixel(0, 0);
+        this.texture = new Texture(pm);
+        pm.dispose();
+        ResourceTracker.created(texture, AssetService.OWNER, 4);
+        this.white = new TextureRegion(texture);
+    }
+
+    /** Uses a white region owned by someone else, e.g. the packed art pages, so placeholders share its texture. */
+    public SolidDrawables(TextureRegion white) {
+        this.texture = null;
+        this.white = white;
+    }
+
+    /** The shared 1x1 white region; tint it through vertex colors instead of making new textures. */
+    public TextureRegion white() {
+        return white;
+    }
+
+    public Drawable get(Color color) {
+        int key = Color.rgba8888(color);
+        Drawable drawable = byColor.get(key);
+        if (drawable == null) {
+            drawable = new TextureRegionDrawable(white).tint(color);
+            byColor.put(key, drawable);
+        }
+        return drawable;
+    }
+
+    public Image image(Color color) {
+        Image img = new Image(get(color));
+        img.setScaling(Scaling.stretch);
+        return img;
+    }
+
+    @Override
+    public void dispose() {
+        byColor.clear();
+        if (texture != null) {
+            ResourceTracker.disposed(texture);
+            texture.dispose();
+        }
+    }
+}
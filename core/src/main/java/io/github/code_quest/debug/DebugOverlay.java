@@ -0,0 +1,151 @@
+package io.github.code_quest.debug;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import io.github.code_quest.assets.AssetService;
+
+/**
+ * Toggleable frame-time and render-stat HUD. GL counters come from {@link GLProfiler} and are read
+ * before the overlay draws, so they describe the screen alone. Text is rebuilt into one reused
+ * StringBuilder and the frame graph is drawn from the shared white region; nothing allocates per frame.
+ */
+public class DebugOverlay implements Disposable {
+    private static final int GRAPH_FRAMES = 240;
+    private static final float GRAPH_HEIGHT = 60f, GRAPH_MS = 50f;
+
+    private final FrameStats stats;
+    private final Batch batch;
+    private final AssetService assets; // the white region moves onto the packed pages once they load
+    private final GLProfiler profiler;
+    private final BitmapFont font = new BitmapFont();
+    private final ScreenViewport viewport = new ScreenViewport();
+    private final StringBuilder text = new StringBuilder(256);
+    private Object screen;
+    private String screenOwner; // ResourceTracker name of screen, looked up once per screen change
+    private boolean visible;
+
+    public DebugOverlay(FrameStats stats, Batch batch, AssetService assets) {
+        this.stats = stats;
+        this.batch = batch;
+        this.assets = assets;
+        this.profiler = new GLProfiler(Gdx.graphics);
+        Texture glyphs = font.getRegion().getTexture();
+        ResourceTracker.created(glyphs, "DebugOverlay", AssetService.estimateBytes(glyphs));
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void toggle() {
+        visible = !visible;
+        if (visible) {
+            profiler.enable();
+            profiler.reset();
+        } else {
+            profiler.disable();
+        }
+    }
+
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    /** Draws the HUD when visible; {@code screen} is the active screen, whose live VRAM is reported. */
+    public void render(Object screen) {
+        if (!visible) return;
+        if (screen != this.screen) {
+            this.screen = screen;
+            screenOwner = screen != null ? ResourceTracker.ownerOf(screen) : null;
+        }
+        int drawCalls = profiler.getDrawCalls();
+        int binds = profiler.getTextureBindings();
+        int shaders = profiler.getShaderSwitches();
+        int sprites = (int)(profiler.getVertexCount().total / 6f); // indexed quads: 6 indices per sprite
+
+        text.setLength(0);
+        text.append("FPS ").append(Gdx.graphics.getFramesPerSecond());
+        appendMs(text.append("   frame "), stats.getSize() > 0 ? stats.getFrameMs(0) : 0f);
+        appendMs(text.append("   1% low "), stats.getLow1Ms());
+        appendMs(text.append("   0.1% low "), stats.getLow01Ms());
+        appendMs(text.append("\nact "), stats.getActMs());
+        appendMs(text.append("   draw "), stats.getDrawMs());
+        text.append("\ndraw calls ").append(drawCalls)
+            .append("   binds ").append(binds)
+            .append("   shaders ").append(shaders)
+            .append("   sprites ").append(sprites);
+        text.append("\nalloc ");
+        float alloc = stats.getAllocBytesPerSecond();
+        if (alloc >= 0f) appendFixed(text, alloc / (1024f * 1024f)).append(" MB/s");
+        else text.append("n/a");
+        text.append("   vram ");
+        appendFixed(text, ResourceTracker.getTotalBytes() / (1024f * 1024f));
+        text.append(" MB in ").append(ResourceTracker.getLiveCount()).append(" GL resources");
+        if (screenOwner != null) {
+            text.append("\n").append(screenOwner).append(' ');
+            appendFixed(text, ResourceTracker.getLiveBytes(screenOwner) / (1024f * 1024f)).append(" MB");
+        }
+
+        viewport.apply();
+        batch.setProjectionMatrix(viewport.getCamera().combined);
+        batch.begin();
+        TextureRegion white = assets.solids().white();
+        float top = viewport.getWorldHeight();
+        float x = 8f, graphY = top - 90f - GRAPH_HEIGHT;
+
+        batch.setColor(0f, 0f, 0f, 0.6f);
+        batch.draw(white, 0f, graphY - 8f, GRAPH_FRAMES * 2f + 16f, top - graphY + 8f);
+
+        int frames = Math.min(GRAPH_FRAMES, stats.getSize());
+        for (int i = 0; i < frames; i++) {
+            float ms = stats.getFrameMs(i);
+            if (ms < 17f) batch.setColor(0.4f, 0.9f, 0.4f, 0.9f);
+            else if (ms < 34f) batch.setColor(0.95f, 0.85f, 0.3f, 0.9f);
+            else batch.setColor(0.95f, 0.3f, 0.3f, 0.9f);
+            float h = Math.min(ms, GRAPH_MS) / GRAPH_MS * GRAPH_HEIGHT;
+            batch.draw(white, x + (GRAPH_FRAMES - 1 - i) * 2f, graphY, 2f, h);
+        }
+        // Reference lines: 60 FPS budget, then the 1% and 0.1% lows
+        drawLine(x, graphY, 16.67f, 1f, 1f, 1f, 0.5f);
+        drawLine(x, graphY, stats.getLow1Ms(), 0.95f, 0.85f, 0.3f, 0.8f);
+        drawLine(x, graphY, stats.getLow01Ms(), 0.95f, 0.3f, 0.3f, 0.8f);
+        batch.setColor(Color.WHITE);
+
+        font.draw(batch, text, x, top - 8f);
+        batch.end();
+
+        profiler.reset(); // the overlay's own draw is discarded with this frame's counters
+    }
+
+    private void drawLine(float x, float graphY, float ms, float r, float g, float b, float a) {
+        batch.setColor(r, g, b, a);
+        batch.draw(assets.solids().white(), x, graphY + Math.min(ms, GRAPH_MS) / GRAPH_MS * GRAPH_HEIGHT, GRAPH_FRAMES * 2f, 1f);
+    }
+
+    private static StringBuilder appendMs(StringBuilder sb, float ms) {
+        return appendFixed(sb, ms).append(" ms");
+    }
+
+    // Two-decimal fixed point through int appends; StringBuilder.append(float) is avoided on purpose.
+    private static StringBuilder appendFixed(StringBuilder sb, float value) {
+        int hundredths = Math.round(value * 100f);
+        sb.append(hundredths / 100).append('.');
+        int frac = hundredths % 100;
+        if (frac < 10) sb.append('0');
+        return sb.append(frac);
+    }
+
+    @Override
+    public void dispose() {
+        profiler.disable();
+        ResourceTracker.disposed(font.getRegion().getTexture());
+        font.dispose();
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.code_quest.debug;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Per-frame timing samples shared by the screens and the debug overlay. {@link io.github.code_quest.Main}
+ * brackets a frame's simulation ticks and its draw, and records whole frames. Construct it on the
+ * render thread: that is the thread whose allocation rate it reports.
+ */
+public class FrameStats {
+    public static final int HISTORY = 1000;
+    private static final int LOWS_INTERVAL = 30;
+
+    private final float[] frameMs = new float[HISTORY];
+    private final float[] scratch = new float[HISTORY];
+    private int head, size, sinceLows;
+
+    private long actStart, drawStart;
+    private float actMs, drawMs;
+    private float low1Ms, low01Ms;
+
+    private final com.sun.management.ThreadMXBean threads = allocationCounter(); // null when the JVM has none
+    private final long renderThread = Thread.currentThread().getId();
+    private long allocatedAtWindowStart = -1, windowStart = TimeUtils.nanoTime();
+    private float allocBytesPerSecond = -1f;
+
+    public void beginAct() { actStart = TimeUtils.nanoTime(); }
+    public void endAct() { actMs = (TimeUtils.nanoTime() - actStart) / 1e6f; }
+    public void beginDraw() { drawStart = TimeUtils.nanoTime(); }
+    public void endDraw() { drawMs = (TimeUtils.nanoTime() - drawStart) / 1e6f; }
+
+    public void recordFrame(float deltaSeconds) {
+        frameMs[head] = deltaSeconds * 1000f;
+        head = (head + 1) % HISTORY;
+        if (size < HISTORY) size++;
+        if (++sinceLows >= LOWS_INTERVAL) {
+            sinceLows = 0;
+            low1Ms = worst(0.01f);
+            low01Ms = worst(0.001f);
+        }
+        sampleAllocation();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)bean;
+            if (!threads.isThreadAllocatedMemorySupported()) return null;
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        } catch (LinkageError | UnsupportedOperationException | SecurityException e) {
+            return null;
+        }
+    }
+
+    // Bytes the render thread allocated, read from its TLAB counter once per one-second window. The
+    // counter is exact and unaffected by GC; reading it allocates on older JDKs, so it is not read per frame.
+    private void sampleAllocation() {
+        if (threads == null) return;
+        long now = TimeUtils.nanoTime();
+        if (allocatedAtWindowStart >= 0 && now - windowStart < 1_000_000_000L) return;
+        long allocated = threads.getThreadAllocatedBytes(renderThread);
+        if (allocatedAtWindowStart >= 0 && allocated >= 0) {
+            allocBytesPerSecond = (allocated - allocatedAtWindowStart) * 1e9f / (now - windowStart);
+        }
+        allocatedAtWindowStart = allocated;
+        windowStart = now;
+    }
+
+    /** Frame time that only the worst {@code fraction} of recent frames exceed, e.g. 0.01 for the 1% low. */
+    private float worst(float fraction) {
+        if (size == 0) return 0f;
+        System.arraycopy(frameMs, 0, scratch, 0, size);
+        int k = Math.min(size - 1, (int)(size * fraction)); // k-th largest, 0-based
+        return select(scratch, size, k);
+    }
+
+    // In-place quickselect for the k-th largest value; avoids the allocations Arrays.sort may make.
+    private static float select(float[] a, int n, int k) {
+        int lo = 0, hi = n - 1;
+        while (lo < hi) {
+            float pivot = a[(lo + hi) >>> 1];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (a[i] > pivot) i++;
+                while (a[j] < pivot) j--;
+                if (i <= j) {
+                    float t = a[i]; a[i] = a[j]; a[j] = t;
+                    i++; j--;
+                }
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else break;
+        }
+        return a[k];
+    }
+
+    public float getActMs() { return actMs; }
+    public float getDrawMs() { return drawMs; }
+    public float getLow1Ms() { return low1Ms; }
+    public float getLow01Ms() { return low01Ms; }
+    /** Render-thread allocation over the last second; negative when this JVM cannot measure it. */
+    public float getAllocBytesPerSecond() { return allocBytesPerSecond; }
+    public int getSize() { return size; }
+
+    /** Frame time {@code framesAgo} frames back, 0 being the most recent. */
+    public float getFrameMs(int framesAgo) {
+        return frameMs[((head - 1 - framesAgo) % HISTORY + HISTORY) % HISTORY];
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.code_quest.debug;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Measures how long the GPU spends on the commands issued between {@link #begin()} and {@link #end()}.
+ * Results arrive a few frames late, since reading them sooner would stall the pipeline. Backends supply
+ * an implementation where the driver offers timer queries; the core has none of its own.
+ */
+public interface GpuTimer extends Disposable {
+    void begin();
+
+    void end();
+
+    /** GPU time of the most recent finished measurement in milliseconds, or -1 when none is available. */
+    float getLastMs();
+}
@@ -0,0 +1,193 @@
+package io.github.code_quest.debug;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Flight Recorder events behind {@link Trace}. Only loaded once Trace has seen {@code jdk.jfr} on the
+ * runtime. Each hook checks its event type first, so no event objects are made unless a recording
+ * has the type enabled.
+ */
+final class JfrTrace implements Trace.Sink {
+    private static final String CATEGORY = "Code Quest";
+
+    @Name("codequest.FramePhase")
+    @Label("Frame Phase")
+    @Description("Simulation ticks (act), screen draw (draw), or the time between frames spent in buffer swap, vsync and input polling (swap)")
+    @Category({CATEGORY, "Frame"})
+    @StackTrace(false)
+    static class FramePhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Frame")
+        long frame;
+    }
+
+    @Name("codequest.AssetLoad")
+    @Label("Asset Load")
+    @Description("Optional art, skins and other cached assets: streamed in the background, loaded on the render thread, or served from the cache")
+    @Category({CATEGORY, "Assets"})
+    @StackTrace(false)
+    static class AssetLoadEvent extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Type")
+        String type;
+
+        @Label("Size")
+        @Description("Estimated VRAM")
+        @DataAmount
+        long bytes;
+
+        @Label("Source")
+        String source;
+    }
+
+    @Name("codequest.ScreenChange")
+    @Label("Screen Change")
+    @Category({CATEGORY, "Screens"})
+    @StackTrace(false)
+    static class ScreenChangeEvent extends Event {
+        @Label("From")
+        String from;
+
+        @Label("To")
+        String to;
+    }
+
+    @Name("codequest.GpuResource")
+    @Label("GPU Resource")
+    @Description("A texture, frame buffer, batch or skin the game created or disposed; the stack trace shows who")
+    @Category({CATEGORY, "Assets"})
+    static class ResourceEvent extends Event {
+        @Label("Action")
+        String action;
+
+        @Label("Kind")
+        String kind;
+
+        @Label("Owner")
+        String owner;
+
+        @Label("Width")
+        int width;
+
+        @Label("Height")
+        int height;
+
+        @Label("Size")
+        @DataAmount
+        long bytes;
+    }
+
+    private final EventType phaseType = EventType.getEventType(FramePhaseEvent.class);
+    private final EventType assetType = EventType.getEventType(AssetLoadEvent.class);
+    private final EventType screenType = EventType.getEventType(ScreenChangeEvent.class);
+    private final EventType resourceType = EventType.getEventType(ResourceEvent.class);
+
+    private final FramePhaseEvent[] phases = new FramePhaseEvent[Trace.PHASES.length];
+    private final ObjectMap<String, AssetLoadEvent> assets = new ObjectMap<>();
+    private ScreenChangeEvent screen;
+    private long frame;
+
+    static void startRecording(Path file) throws IOException {
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration("profile"));
+        } catch (ParseException e) {
+            throw new IOException("Unreadable JFR profile settings", e);
+        }
+        recording.setName("code_quest");
+        recording.setToDisk(true);
+        recording.setDestination(file);
+        recording.setDumpOnExit(true);
+        recording.start();
+    }
+
+    @Override
+    public void beginPhase(int phase) {
+        if (phase == Trace.SWAP) frame++; // swap closes a frame
+        if (!phaseType.isEnabled()) return;
+        FramePhaseEvent event = new FramePhaseEvent();
+        event.phase = Trace.PHASES[phase];
+        event.frame = frame;
+        event.begin();
+        phases[phase] = event;
+    }
+
+    @Override
+    public void endPhase(int phase) {
+        FramePhaseEvent event = phases[phase];
+        if (event == null) return;
+        phases[phase] = null;
+        event.commit();
+    }
+
+    @Override
+    public void beginAsset(String path) {
+        if (!assetType.isEnabled() || assets.containsKey(path)) return;
+        AssetLoadEvent event = new AssetLoadEvent();
+        event.path = path;
+        event.begin();
+        assets.put(path, event);
+    }
+
+    @Override
+    public void endAsset(String path, String type, long bytes, String source) {
+        AssetLoadEvent event = assets.remove(path);
+        if (event == null) {
+            if (!assetType.isEnabled()) return;
+            event = new AssetLoadEvent();
+            event.path = path;
+            event.begin();
+        }
+        event.type = type;
+        event.bytes = bytes;
+        event.source = source;
+        event.commit();
+    }
+
+    @Override
+    public void beginScreen(String from, String to) {
+        if (!screenType.isEnabled()) return;
+        screen = new ScreenChangeEvent();
+        screen.from = from;
+        screen.to = to;
+        screen.begin();
+    }
+
+    @Override
+    public void endScreen() {
+        if (screen == null) return;
+        screen.commit();
+        screen = null;
+    }
+
+    @Override
+    public void resource(boolean created, String kind, String owner, int width, int height, long bytes) {
+        if (!resourceType.isEnabled()) return;
+        ResourceEvent event = new ResourceEvent();
+        event.action = created ? "created" : "disposed";
+        event.kind = kind;
+        event.owner = owner;
+        event.width = width;
+        event.height = height;
+        event.bytes = bytes;
+        event.commit();
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.code_quest.debug;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.glutils.GLFrameBuffer;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectLongMap;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Ledger of the GL resources the game creates (textures, frame buffers, meshes, batches, skins), each with its
+ * owner and estimated size. Every creation is matched against its dispose, so live totals per owner
+ * are always at hand and whatever an owner still holds once it is gone can be reported as a leak.
+ * <p>
+ * Owners are screen class names, or a fixed name for long-lived holders such as the asset cache; a
+ * call site that passes no owner is charged to the innermost screen on the call stack. Shared resources
+ * the asset cache hands out are {@link #share shared} with the screens leasing them: while any screen
+ * holds one, its bytes are split evenly between those screens instead of being charged to the cache, so
+ * {@link #getLiveBytes(String)} answers how much GPU memory a screen is holding. Debug builds
+ * ({@code -Dcodequest.debug=true}, which {@code lwjgl3:run} sets) also keep each allocation's stack trace
+ * and log leaks with it. Render thread only.
+ */
+public final class ResourceTracker {
+    public static final boolean DEBUG = Boolean.getBoolean("codequest.debug");
+    public static final String UNOWNED = "unowned";
+    private static final String SCREENS = "io.github.code_quest.screens.";
+
+    private static final class Entry {
+        String kind, owner;
+        int width, height;
+        long bytes;
+        Throwable site;
+        ObjectIntMap<String> holders; // screens sharing it, with how many shares each; null or empty: the owner pays
+    }
+
+    private static final Map<Object, Entry> live = new IdentityHashMap<>();
+    private static final ObjectLongMap<String> ownerBytes = new ObjectLongMap<>();
+    private static long totalBytes;
+
+    private ResourceTracker() {
+    }
+
+    /** Records {@code resource}; a null {@code owner} means the screen creating it. */
+    public static void created(Object resource, String owner, long bytes) {
+        if (resource == null || live.containsKey(resource)) return;
+        Entry e = new Entry();
+        e.kind = resource.getClass().getSimpleName();
+        Throwable site = DEBUG || owner == null ? new Throwable("Allocated here") : null;
+        e.owner = owner != null ? owner : screenOn(site);
+        e.site = DEBUG ? site : null;
+        e.bytes = bytes;
+        if (resource instanceof Texture) {
+            e.width = ((Texture)resource).getWidth();
+            e.height = ((Texture)resource).getHeight();
+        } else if (resource instanceof GLFrameBuffer) {
+            e.width = ((GLFrameBuffer<?>)resource).getWidth();
+            e.height = ((GLFrameBuffer<?>)resource).getHeight();
+        }
+        live.put(resource, e);
+        charge(e, 1);
+        totalBytes += bytes;
+        Trace.resourceCreated(e.kind, e.owner, e.width, e.height, bytes);
+    }
+
+    /** Matches a dispose against its creation; resources that were never recorded are ignored. */
+    public static void disposed(Object resource) {
+        Entry e = resource != null ? live.remove(resource) : null;
+        if (e == null) return;
+        charge(e, -1);
+        totalBytes -= e.bytes;
+        Trace.resourceDisposed(e.kind, e.owner, e.width, e.height, e.bytes);
+    }
+
+    /** Charges a share of {@code resource} to {@code holder} until a matching {@link #unshare}. */
+    public static void share(Object resource, String holder) {
+        Entry e = resource != null ? live.get(resource) : null;
+        if (e == null) return;
+        charge(e, -1);
+        if (e.holders == null) e.holders = new ObjectIntMap<>();
+        e.holders.getAndIncrement(holder, 0, 1);
+        charge(e, 1);
+    }
+
+    /** Takes back one share {@code holder} took with {@link #share}; with none left, the owner pays again. */
+    public static void unshare(Object resource, String holder) {
+        Entry e = resource != null ? live.get(resource) : null;
+        if (e == null || e.holders == null || !e.holders.containsKey(holder)) return;
+        charge(e, -1);
+        if (e.holders.getAndIncrement(holder, 0, -1) == 1) e.holders.remove(holder, 0);
+        charge(e, 1);
+    }
+
+    // Adds (sign 1) or removes (sign -1) an entry's bytes: all to its owner, or split between its holders.
+    // The remainder of an uneven split goes to the first holder, which is stable while the holders are.
+    private static void charge(Entry e, int sign) {
+        if (e.holders == null || e.holders.size == 0) {
+            ownerBytes.getAndIncrement(e.owner, 0L, sign * e.bytes);
+            return;
+        }
+        long share = e.bytes / e.holders.size, remainder = e.bytes - share * e.holders.size;
+        for (ObjectIntMap.Entry<String> holder : e.holders) {
+            ownerBytes.getAndIncrement(holder.key, 0L, sign * (share + remainder));
+            remainder = 0;
+        }
+    }
+
+    private static String screenOn(Throwable site) {
+        for (StackTraceElement frame : site.getStackTrace()) {
+            String name = frame.getClassName();
+            if (!name.startsWith(SCREENS)) continue;
+            int inner = name.indexOf('$');
+            String simple = name.substring(SCREENS.length(), inner < 0 ? name.length() : inner);
+            if (simple.endsWith("Screen")) return simple;
+        }
+        return UNOWNED;
+    }
+
+    /** Owner name used for resources a screen creates itself. */
+    public static String ownerOf(Object screen) {
+        return screen.getClass().getSimpleName();
+    }
+
+    /** Estimated bytes still held by {@code owner}: what it owns outright plus its shares of shared resources. */
+    public static long getLiveBytes(String owner) {
+        return ownerBytes.get(owner, 0L);
+    }
+
+    public static long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public static int getLiveCount() {
+        return live.size();
+    }
+
+    /**
+     * Logs every resource {@code owner} still owns or still shares, with allocation sites in debug builds;
+     * returns how many.
+     */
+    public static int reportLeaks(String owner) {
+        int count = 0;
+        for (Entry e : live.values()) {
+            boolean shared = owner != null && e.holders != null && e.holders.containsKey(owner);
+            if (owner != null && !owner.equals(e.owner) && !shared) continue;
+            count++;
+            String message = "Leaked " + e.kind + (e.width > 0 ? " " + e.width + "x" + e.height : "")
+                + " (" + (e.bytes + 1023) / 1024 + " KB) " + (shared ? "still shared by " + owner : "owned by " + e.owner);
+            if (Gdx.app == null) System.err.println(message);
+            else if (e.site != null) Gdx.app.error("ResourceTracker", message, e.site);
+            else Gdx.app.error("ResourceTracker", message);
+        }
+        return count;
+    }
+
+    /** {@link #reportLeaks(String)} for every owner; for after everything should have been disposed. */
+    public static int reportLeaks() {
+        return reportLeaks(null);
+    }
+}
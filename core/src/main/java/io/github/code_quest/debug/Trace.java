@@ -0,0 +1,99 @@
+package io.github.code_quest.debug;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Instrumentation points for external profilers: frame phases, asset loads, screen changes and the
+ * GL resources recorded by {@link ResourceTracker}. Calls go to {@link JfrTrace} when the JVM has Flight
+ * Recorder and are dropped otherwise, so the rest of the game never touches {@code jdk.jfr} and still runs
+ * on runtimes without it. Events cost one enabled check until a recording (ours or {@code jcmd JFR.start}) asks for them.
+ * Render thread only.
+ */
+public final class Trace {
+    public static final int ACT = 0, DRAW = 1, SWAP = 2;
+    static final String[] PHASES = { "act", "draw", "swap" };
+
+    /** Receives the events; {@link JfrTrace} is the one implementation. */
+    interface Sink {
+        void beginPhase(int phase);
+
+        void endPhase(int phase);
+
+        void beginAsset(String path);
+
+        void endAsset(String path, String type, long bytes, String source);
+
+        void beginScreen(String from, String to);
+
+        void endScreen();
+
+        void resource(boolean created, String kind, String owner, int width, int height, long bytes);
+    }
+
+    private static final Sink sink = hasFlightRecorder() ? new JfrTrace() : null;
+
+    private Trace() {
+    }
+
+    private static boolean hasFlightRecorder() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder");
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    public static boolean isAvailable() {
+        return sink != null;
+    }
+
+    /**
+     * Starts a Flight Recorder recording with the JDK's "profile" settings plus our events, written to
+     * {@code file} when the JVM exits. Returns false when this runtime has no Flight Recorder.
+     */
+    public static boolean startRecording(File file) throws IOException {
+        if (sink == null) return false;
+        JfrTrace.startRecording(file.toPath());
+        return true;
+    }
+
+    public static void beginPhase(int phase) {
+        if (sink != null) sink.beginPhase(phase);
+    }
+
+    public static void endPhase(int phase) {
+        if (sink != null) sink.endPhase(phase);
+    }
+
+    /** Opens the load span of {@code path}; a span that is already open keeps its start. */
+    public static void beginAsset(String path) {
+        if (sink != null) sink.beginAsset(path);
+    }
+
+    /** Closes the span of {@code path}, or records an instant one when none was open. */
+    public static void endAsset(String path, Class<?> type, long bytes, String source) {
+        if (sink != null) sink.endAsset(path, type != null ? type.getSimpleName() : null, bytes, source);
+    }
+
+    public static void beginScreen(Object from, Object to) {
+        if (sink != null) sink.beginScreen(name(from), name(to));
+    }
+
+    public static void endScreen() {
+        if (sink != null) sink.endScreen();
+    }
+
+    static void resourceCreated(String kind, String owner, int width, int height, long bytes) {
+        if (sink != null) sink.resource(true, kind, owner, width, height, bytes);
+    }
+
+    static void resourceDisposed(String kind, String owner, int width, int height, long bytes) {
+        if (sink != null) sink.resource(false, kind, owner, width, height, bytes);
+    }
+
+    private static String name(Object screen) {
+        return screen != null ? screen.getClass().getSimpleName() : null;
+    }
+}
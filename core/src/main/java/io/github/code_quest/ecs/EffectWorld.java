@@ -0,0 +1,67 @@
+package io.github.code_quest.ecs;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.TimeUtils;
+import io.github.code_quest.ecs.systems.GlitchSystem;
+import io.github.code_quest.ecs.systems.RainSystem;
+
+/**
+ * A screen's entity world. Simulation runs here in fixed ticks through {@link #update(float)}; the
+ * effect actors on the stage extract what they need when they draw, on the render thread, blending
+ * the last two ticks by {@link #getAlpha()}.
+ */
+public class EffectWorld implements Disposable {
+    private final Engine engine = new Engine();
+    private final SystemScheduler scheduler = new SystemScheduler(engine);
+    private final RandomXS128 seeds;
+    private float alpha = 1f;
+
+    public EffectWorld() {
+        this(TimeUtils.nanoTime());
+    }
+
+    /** Effects added to a world built from the same seed, in the same order, behave identically. */
+    public EffectWorld(long seed) {
+        this.seeds = new RandomXS128(seed);
+        scheduler.addPhase(new RainSystem(), new GlitchSystem());
+    }
+
+    /** Seed for the next effect's own generator; systems running in parallel never share one. */
+    public long nextSeed() {
+        return seeds.nextLong();
+    }
+
+    public Entity add(Entity entity) {
+        engine.addEntity(entity);
+        return entity;
+    }
+
+    public void remove(Entity entity) {
+        engine.removeEntity(entity);
+    }
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public void update(float delta) {
+        scheduler.update(delta);
+    }
+
+    /** How far the rendered frame sits between the previous tick (0) and the latest one (1). */
+    public float getAlpha() {
+        return alpha;
+    }
+
+    public void setAlpha(float alpha) {
+        this.alpha = alpha;
+    }
+
+    @Override
+    public void dispose() {
+        engine.removeAllEntities();
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.code_quest.ecs;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs an {@link Engine}'s systems in ordered phases. Systems in the same phase must be independent:
+ * they may only touch their own components and must not add or remove entities or components. A phase
+ * runs on the fork-join common pool when its combined {@link Workload} is large enough to repay the
+ * hand-off, and inline otherwise. Systems added to the engine outside a phase keep running serially in
+ * {@link Engine#update(float)}, which also applies any deferred entity operations.
+ */
+public class SystemScheduler {
+    private static final int PARALLEL_THRESHOLD = 2000;
+    private static final boolean MULTICORE = Runtime.getRuntime().availableProcessors() > 1;
+
+    private final Engine engine;
+    private final Array<SystemTask[]> phases = new Array<>();
+
+    // Reused every frame through reinitialize(), so scheduling allocates nothing.
+    private static final class SystemTask extends RecursiveAction {
+        final EntitySystem system;
+        float delta;
+
+        SystemTask(EntitySystem system) {
+            this.system = system;
+        }
+
+        @Override
+        protected void compute() {
+            system.update(delta);
+        }
+    }
+
+    public SystemScheduler(Engine engine) {
+        this.engine = engine;
+    }
+
+    /** Adds independent systems as one phase; phases run in the order they were added. */
+    public void addPhase(EntitySystem... systems) {
+        SystemTask[] tasks = new SystemTask[systems.length];
+        for (int i = 0; i < systems.length; i++) {
+            engine.addSystem(systems[i]);
+            systems[i].setProcessing(false); // the scheduler drives these, not Engine.update
+            tasks[i] = new SystemTask(systems[i]);
+        }
+        phases.add(tasks);
+    }
+
+    public void update(float delta) {
+        for (int p = 0; p < phases.size; p++) {
+            SystemTask[] tasks = phases.get(p);
+            if (MULTICORE && tasks.length > 1 && workload(tasks) >= PARALLEL_THRESHOLD) {
+                for (SystemTask task : tasks) {
+                    task.reinitialize();
+                    task.delta = delta;
+                }
+                ForkJoinTask.invokeAll(tasks); // the calling thread runs one task itself
+            } else {
+                for (SystemTask task : tasks) task.system.update(delta);
+            }
+        }
+        engine.update(delta);
+    }
+
+    private static int workload(SystemTask[] tasks) {
+        int total = 0;
+        for (SystemTask task : tasks) {
+            if (!(task.system instanceof Workload)) return Integer.MAX_VALUE;
+            total += ((Workload)task.system).workload();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.code_quest.ecs;
+
+/** Implemented by systems that can estimate their per-update cost, so the scheduler only goes parallel when it pays. */
+public interface Workload {
+    /** Rough number of elements the next update will touch. */
+    int workload();
+}
@@ -0,0 +1,50 @@
+package io.github.code_quest.ecs.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.math.RandomXS128;
+
+/** Simulation state of one glitch-particle field as parallel primitive arrays. */
+public class GlitchComponent implements Component {
+    public final float width, height;
+    public final RandomXS128 random;
+    public float[] x = new float[0], y = new float[0], vx = new float[0], vy = new float[0];
+    public float[] a = new float[0], size = new float[0];
+    public float[] prevX = new float[0], prevY = new float[0]; // positions before the last tick, for render interpolation
+    public int count;
+
+    public GlitchComponent(float width, float height, long seed) {
+        this.width = width;
+        this.height = height;
+        this.random = new RandomXS128(seed);
+    }
+
+    /** Grows storage only past the current capacity, so shrinking and regrowing up to the old size is free. */
+    public void setCount(int count) {
+        count = Math.max(0, count);
+        if (count > x.length) {
+            int capacity = Math.max(count, x.length * 2);
+            x = grow(x, capacity); y = grow(y, capacity);
+            vx = grow(vx, capacity); vy = grow(vy, capacity);
+            a = grow(a, capacity); size = grow(size, capacity);
+            prevX = grow(prevX, capacity); prevY = grow(prevY, capacity);
+        }
+        for (int i = this.count; i < count; i++) respawn(i);
+        this.count = count;
+    }
+
+    private float[] grow(float[] src, int capacity) {
+        float[] b = new float[capacity];
+        System.arraycopy(src, 0, b, 0, count);
+        return b;
+    }
+
+    public void respawn(int i) {
+        x[i] = random.nextFloat() * width;
+        y[i] = random.nextFloat() * height;
+        prevX[i] = x[i]; prevY[i] = y[i];
+        vx[i] = -10f + random.nextFloat() * 20f;
+        vy[i] = 5f + random.nextFloat() * 15f;
+        a[i] = 0.06f + random.nextFloat() * 0.14f;
+        size[i] = 1f + random.nextFloat() * 2f;
+    }
+}
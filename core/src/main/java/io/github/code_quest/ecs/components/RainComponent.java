@@ -0,0 +1,61 @@
+package io.github.code_quest.ecs.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * Simulation state of one code-rain field, kept as parallel primitive arrays. {@code fresh[i]} marks
+ * drops that respawned since the last extraction and need their glyphs laid out again.
+ */
+public class RainComponent implements Component {
+    public static final int MAX_LEN = 16;
+    private static final char[] POOL =
+        "publicstaticvoidclassintfloatdoublebooleanbytecharStringreturnifelseforwhiletrycatchnewextendsimplementsnulltruefalse".toCharArray();
+
+    public final float width, height;
+    public final RandomXS128 random;
+    public float[] x = new float[0], y = new float[0], speed = new float[0], alpha = new float[0];
+    public float[] prevY = new float[0]; // y before the last tick, for render interpolation
+    public int[] len = new int[0];
+    public char[] text = new char[0];   // MAX_LEN chars per drop
+    public boolean[] fresh = new boolean[0];
+    public int count;
+
+    public RainComponent(float width, float height, long seed) {
+        this.width = width;
+        this.height = height;
+        this.random = new RandomXS128(seed);
+    }
+
+    /** Grows storage only past the current capacity; new drops are rolled immediately. */
+    public void setCount(int count) {
+        count = Math.max(0, count);
+        if (count > x.length) {
+            int capacity = Math.max(count, x.length * 2);
+            x = grow(x, capacity); y = grow(y, capacity); prevY = grow(prevY, capacity);
+            speed = grow(speed, capacity); alpha = grow(alpha, capacity);
+            int[] l = new int[capacity]; System.arraycopy(len, 0, l, 0, this.count); len = l;
+            char[] t = new char[capacity * MAX_LEN]; System.arraycopy(text, 0, t, 0, this.count * MAX_LEN); text = t;
+            boolean[] f = new boolean[capacity]; System.arraycopy(fresh, 0, f, 0, this.count); fresh = f;
+        }
+        for (int i = this.count; i < count; i++) respawn(i);
+        this.count = count;
+    }
+
+    private float[] grow(float[] a, int capacity) {
+        float[] b = new float[capacity];
+        System.arraycopy(a, 0, b, 0, count);
+        return b;
+    }
+
+    public void respawn(int i) {
+        x[i] = random.nextFloat() * width;
+        y[i] = height + random.nextFloat() * height;
+        prevY[i] = y[i]; // no interpolation across a respawn
+        speed[i] = 60f + random.nextFloat() * 60f;
+        alpha[i] = 0.08f + random.nextFloat() * 0.14f;
+        len[i] = 6 + random.nextInt(MAX_LEN - 6 + 1);
+        for (int c = 0, o = i * MAX_LEN; c < len[i]; c++) text[o + c] = POOL[random.nextInt(POOL.length)];
+        fresh[i] = true;
+    }
+}
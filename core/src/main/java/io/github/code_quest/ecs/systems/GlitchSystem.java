@@ -0,0 +1,38 @@
+package io.github.code_quest.ecs.systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import io.github.code_quest.ecs.Workload;
+import io.github.code_quest.ecs.components.GlitchComponent;
+
+/** Drifts glitch particles and respawns the ones that leave the field. Touches component arrays only. */
+public class GlitchSystem extends IteratingSystem implements Workload {
+    private final ComponentMapper<GlitchComponent> glitch = ComponentMapper.getFor(GlitchComponent.class);
+
+    public GlitchSystem() {
+        super(Family.all(GlitchComponent.class).get());
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float delta) {
+        GlitchComponent g = glitch.get(entity);
+        final float[] x = g.x, y = g.y, vx = g.vx, vy = g.vy, prevX = g.prevX, prevY = g.prevY;
+        final float maxY = g.height + 5, maxX = g.width + 5;
+        for (int i = 0, n = g.count; i < n; i++) {
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            x[i] += vx[i] * delta;
+            y[i] += vy[i] * delta;
+            if (y[i] > maxY || x[i] < -5 || x[i] > maxX) g.respawn(i);
+        }
+    }
+
+    @Override
+    public int workload() {
+        int total = 0;
+        for (int i = 0; i < getEntities().size(); i++) total += glitch.get(getEntities().get(i)).count;
+        return total;
+    }
+}
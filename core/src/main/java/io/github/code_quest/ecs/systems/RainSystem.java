@@ -0,0 +1,35 @@
+package io.github.code_quest.ecs.systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import io.github.code_quest.ecs.Workload;
+import io.github.code_quest.ecs.components.RainComponent;
+
+/** Moves code-rain drops down and respawns the ones that fell off. Touches component arrays only, so it may run off-thread. */
+public class RainSystem extends IteratingSystem implements Workload {
+    private final ComponentMapper<RainComponent> rain = ComponentMapper.getFor(RainComponent.class);
+
+    public RainSystem() {
+        super(Family.all(RainComponent.class).get());
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float delta) {
+        RainComponent r = rain.get(entity);
+        final float[] y = r.y, prevY = r.prevY, speed = r.speed;
+        for (int i = 0, n = r.count; i < n; i++) {
+            prevY[i] = y[i];
+            y[i] -= speed[i] * delta;
+            if (y[i] < -20f) r.respawn(i);
+        }
+    }
+
+    @Override
+    public int workload() {
+        int total = 0;
+        for (int i = 0; i < getEntities().size(); i++) total += rain.get(getEntities().get(i)).count;
+        return total;
+    }
+}
@@ -1,70 +1,147 @@
 package io.github.code_quest.entities;
 
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.scenes.scene2d.Actor;
-import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Disposable;
+import io.github.code_quest.debug.ResourceTracker;
+import io.github.code_quest.ecs.EffectWorld;
+import io.github.code_quest.ecs.components.GlitchComponent;
 
-public class GlitchParticles extends Actor {
-    private static class Bit {
-        float x, y, vx, vy, a, size;
-    }
+// Draws the glitch field simulated by the GlitchSystem, interpolated between its last two ticks.
+// The component keeps struct-of-arrays state; each frame is written into one vertex buffer and uploaded to
+// the field's own Mesh, whose quad indices never change, so the whole field is a single draw call.
+public class GlitchParticles extends Actor implements Disposable {
+    private static final int VERTEX_SIZE = 5;               // x, y, packed color, u, v
+    private static final int QUAD_SIZE = 4 * VERTEX_SIZE;
+    // 16-bit indices address 65536 vertices; larger fields are drawn in passes over the same mesh.
+    static final int MAX_QUADS = 16384;
+
+    private final EffectWorld world;
+    private final GlitchComponent bits;
+    private final Entity entity = new Entity();
+    private float[] vertices = new float[0];
+    private Mesh mesh;
+    private int meshQuads;
+    private final Matrix4 combined = new Matrix4();
 
-    private final Array<Bit> bits = new Array<>();
     private final Texture pixel;
-    private final float width, height;
+    private final float u, v;
     private final Color tint = new Color();
 
-    public GlitchParticles(float width, float height, int count, Color tint) {
-        this.width = width; this.height = height;
+    // pixel: a white region (usually the shared one from SolidDrawables); quads sample its center.
+    public GlitchParticles(EffectWorld world, float width, float height, int count, Color tint, TextureRegion pixel) {
+        this.world = world;
         this.tint.set(tint);
         setBounds(0, 0, width, height);
 
-        // 1x1 white pixel for quads
-        Pixmap pm = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
-        pm.setColor(Color.WHITE);
-        pm.drawPixel(0, 0);
-        this.pixel = new Texture(pm);
-        pm.dispose();
+        this.pixel = pixel.getTexture();
+        this.u = (pixel.getU() + pixel.getU2()) * 0.5f;
+        this.v = (pixel.getV() + pixel.getV2()) * 0.5f;
 
-        for (int i = 0; i < count; i++) bits.add(newBit());
+        bits = new GlitchComponent(width, height, world.nextSeed());
+        setCount(count);
+        entity.add(bits);
+        world.add(entity);
     }
 
-    private Bit newBit() {
-        Bit b = new Bit();
-        b.x = MathUtils.random(width);
-        b.y = MathUtils.random(height);
-        b.vx = MathUtils.random(-10f, 10f);
-        b.vy = MathUtils.random(5f, 20f);
-        b.a = MathUtils.random(0.06f, 0.2f);
-        b.size = MathUtils.random(1f, 3f);
-        return b;
+    /** Changes the live particle count. Storage only grows, so shrinking and regrowing up to the old size is free. */
+    public void setCount(int count) {
+        bits.setCount(count);
+        if (vertices.length < bits.x.length * QUAD_SIZE) vertices = new float[bits.x.length * QUAD_SIZE];
+        int quads = Math.min(bits.x.length, MAX_QUADS);
+        if (quads > meshQuads) createMesh(quads);
     }
 
-    @Override
-    public void act(float delta) {
-        for (int i = 0; i < bits.size; i++) {
-            Bit b = bits.get(i);
-            b.x += b.vx * delta;
-            b.y += b.vy * delta;
-            if (b.y > height + 5 || b.x < -5 || b.x > width + 5) bits.set(i, newBit());
+    private void createMesh(int quads) {
+        disposeMesh();
+        // Same layout as SpriteBatch, so the batch's shader draws it.
+        mesh = new Mesh(false, true, quads * 4, quads * 6, new VertexAttributes(
+            new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+            new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+            new VertexAttribute(VertexAttributes.Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0")));
+        short[] indices = new short[quads * 6];
+        for (int i = 0, j = 0; i < indices.length; i += 6, j += 4) {
+            indices[i] = (short)j;
+            indices[i + 1] = (short)(j + 1);
+            indices[i + 2] = (short)(j + 2);
+            indices[i + 3] = (short)(j + 2);
+            indices[i + 4] = (short)(j + 3);
+            indices[i + 5] = (short)j;
         }
+        mesh.setIndices(indices);
+        meshQuads = quads;
+        ResourceTracker.created(mesh, null, quads * (4L * VERTEX_SIZE * 4 + 6 * 2)); // charged to the screen creating us
     }
 
     @Override
     public void draw(Batch batch, float parentAlpha) {
-        Color old = batch.getColor();
-        for (Bit b : bits) {
-            batch.setColor(tint.r, tint.g, tint.b, b.a * parentAlpha);
-            batch.draw(pixel, b.x, b.y, b.size, b.size);
+        final int count = bits.count;
+        if (count == 0) return;
+        final float[] verts = vertices, x = bits.x, y = bits.y, a = bits.a, size = bits.size;
+        final float[] prevX = bits.prevX, prevY = bits.prevY;
+        final float r = tint.r, g = tint.g, b = tint.b, t = world.getAlpha();
+        final float ox = getX(), oy = getY();
+        for (int i = 0, o = 0; i < count; i++, o += QUAD_SIZE) {
+            float x1 = ox + prevX[i] + (x[i] - prevX[i]) * t, y1 = oy + prevY[i] + (y[i] - prevY[i]) * t;
+            float x2 = x1 + size[i], y2 = y1 + size[i];
+            float c = Color.toFloatBits(r, g, b, a[i] * parentAlpha);
+
+            verts[o] = x1;       verts[o + 1] = y1;  verts[o + 2] = c;  verts[o + 3] = u;  verts[o + 4] = v;
+            verts[o + 5] = x1;   verts[o + 6] = y2;  verts[o + 7] = c;  verts[o + 8] = u;  verts[o + 9] = v;
+            verts[o + 10] = x2;  verts[o + 11] = y2; verts[o + 12] = c; verts[o + 13] = u; verts[o + 14] = v;
+            verts[o + 15] = x2;  verts[o + 16] = y1; verts[o + 17] = c; verts[o + 18] = u; verts[o + 19] = v;
+        }
+
+        ShaderProgram shader = batch.getShader();
+        if (shader == null) {
+            // Batches that never touch GL (the headless CountingBatch) just take the quads.
+            batch.draw(pixel, verts, 0, count * QUAD_SIZE);
+            return;
+        }
+        batch.flush(); // everything drawn so far stays underneath the field
+        if (batch.isBlendingEnabled()) {
+            Gdx.gl.glEnable(GL20.GL_BLEND);
+            Gdx.gl.glBlendFuncSeparate(batch.getBlendSrcFunc(), batch.getBlendDstFunc(),
+                batch.getBlendSrcFuncAlpha(), batch.getBlendDstFuncAlpha());
+        } else {
+            Gdx.gl.glDisable(GL20.GL_BLEND);
         }
-        batch.setColor(old);
+        // The batch's own uniforms, set again in case it has not flushed since they changed.
+        shader.setUniformMatrix("u_projTrans", combined.set(batch.getProjectionMatrix()).mul(batch.getTransformMatrix()));
+        shader.setUniformi("u_texture", 0);
+        pixel.bind(0); // the batch rebinds its own texture on its next flush
+        for (int first = 0; first < count; first += meshQuads) {
+            int quads = Math.min(meshQuads, count - first);
+            mesh.setVertices(verts, first * QUAD_SIZE, quads * QUAD_SIZE);
+            mesh.render(shader, GL20.GL_TRIANGLES, 0, quads * 6);
+        }
+    }
+
+    public int getCount() {
+        return bits.count;
     }
 
+    private void disposeMesh() {
+        if (mesh == null) return;
+        ResourceTracker.disposed(mesh);
+        mesh.dispose();
+        mesh = null;
+        meshQuads = 0;
+    }
+
+    @Override
     public void dispose() {
-        pixel.dispose();
+        disposeMesh();
     }
-}
\ No newline at end of file
+}
@@ -1,71 +1,72 @@
 package io.github.code_quest.entities.actors;
 
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.math.MathUtils;
+import io.github.code_quest.ecs.EffectWorld;
+import io.github.code_quest.ecs.components.RainComponent;
 
 // Lightweight "data rain" actor (no shaders) using font glyphs.
+// Drops are simulated by the RainSystem in the screen's EffectWorld; draw() is the render-extraction
+// step: it re-lays out glyphs only for respawned drops and otherwise just moves each drop's cache
+// to its position interpolated between the last two ticks.
 public class CodeRainActor extends Actor {
-    private static class Drop {
-        float x, y, speed, len;
-        String content;
-        float alpha;
-    }
+    public static final int DEFAULT_DROPS = 60;
+    /** Pixel size the rain asks {@link io.github.code_quest.assets.FontService} for; the skin font it replaces is 12px. */
+    public static final int FONT_SIZE = 12;
 
-    private final Array<Drop> drops = new Array<>();
+    private final EffectWorld world;
+    private final RainComponent rain;
+    private final Entity entity = new Entity();
+    private final Array<BitmapFontCache> caches = new Array<>(); // one per drop, kept when the count shrinks
+    private final StringBuilder content = new StringBuilder(RainComponent.MAX_LEN);
     private final BitmapFont font;
     private final Color color = new Color();
-    private final float width, height;
 
-    public CodeRainActor(float width, float height, BitmapFont font, Color tint) {
-        this.width = width;
-        this.height = height;
-        this.font = font;
-        setBounds(0, 0, width, height);
-        for (int i = 0; i < 60; i++) drops.add(newDrop());
-        this.color.set(tint);
+    public CodeRainActor(EffectWorld world, float width, float height, BitmapFont font, Color tint) {
+        this(world, width, height, font, tint, DEFAULT_DROPS);
     }
 
-    private Drop newDrop() {
-        Drop d = new Drop();
-        d.x = MathUtils.random(0f, width);
-        d.y = MathUtils.random(height, height * 2f);
-        d.speed = MathUtils.random(60f, 120f);
-        d.len = MathUtils.random(6f, 16f);
-        d.alpha = MathUtils.random(0.08f, 0.22f);
-        d.content = randomSnippet((int)d.len);
-        return d;
+    public CodeRainActor(EffectWorld world, float width, float height, BitmapFont font, Color tint, int count) {
+        this.world = world;
+        this.font = font;
+        this.color.set(tint);
+        this.rain = new RainComponent(width, height, world.nextSeed());
+        setBounds(0, 0, width, height);
+        setDropCount(count);
+        entity.add(rain);
+        world.add(entity);
     }
 
-    private String randomSnippet(int len) {
-        final char[] pool = "publicstaticvoidclassintfloatdoublebooleanbytecharStringreturnifelseforwhiletrycatchnewextendsimplementsnulltruefalse".toCharArray();
-        StringBuilder sb = new StringBuilder(len);
-        for (int i = 0; i < len; i++) sb.append(pool[MathUtils.random(pool.length - 1)]);
-        return sb.toString();
+    /** Changes how many drops fall. Shrinking parks caches for later; only growth past the high-water mark allocates. */
+    public void setDropCount(int count) {
+        rain.setCount(count);
+        while (caches.size < rain.count) caches.add(new BitmapFontCache(font, font.usesIntegerPositions()));
     }
 
-    @Override
-    public void act(float delta) {
-        super.act(delta);
-        for (int i = 0; i < drops.size; i++) {
-            Drop d = drops.get(i);
-            d.y -= d.speed * delta;
-            if (d.y < -20f) {
-                drops.set(i, newDrop());
-            }
-        }
+    public int getDropCount() {
+        return rain.count;
     }
 
     @Override
     public void draw(Batch batch, float parentAlpha) {
-        Color old = batch.getColor();
-        for (Drop d : drops) {
-            batch.setColor(color.r, color.g, color.b, d.alpha * parentAlpha);
-            font.draw(batch, d.content, d.x, d.y);
+        final float[] x = rain.x, y = rain.y, prevY = rain.prevY;
+        final float alpha = world.getAlpha();
+        for (int i = 0, n = rain.count; i < n; i++) {
+            BitmapFontCache cache = caches.get(i);
+            if (rain.fresh[i]) {
+                rain.fresh[i] = false;
+                content.setLength(0);
+                content.append(rain.text, i * RainComponent.MAX_LEN, rain.len[i]);
+                cache.setColor(color.r, color.g, color.b, rain.alpha[i]);
+                cache.setText(content, 0f, 0f);
+            }
+            cache.setPosition(x[i], prevY[i] + (y[i] - prevY[i]) * alpha);
+            cache.draw(batch, parentAlpha);
         }
-        batch.setColor(old);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package io.github.code_quest.replay;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Sits in front of whatever input processor the current screen installed, records each event with
+ * the frame it arrived before and a timestamp, and passes it on unchanged. Screens keep calling
+ * {@code Gdx.input.setInputProcessor}; {@link #attach()} re-inserts the recorder after every frame.
+ * Window resizes are recorded the same way, since they change where pointer coordinates land.
+ */
+public class InputRecorder implements InputProcessor {
+    private final InputRecording recording;
+    private final long start = TimeUtils.millis();
+    private InputProcessor delegate;
+    private int frame;
+    private boolean focused = true, minimized, paused; // as last recorded; sessions start active
+
+    public InputRecorder(InputRecording recording) {
+        this.recording = recording;
+    }
+
+    public InputRecording getRecording() {
+        return recording;
+    }
+
+    /** Wraps the installed processor if a screen replaced us. */
+    public void attach() {
+        InputProcessor current = Gdx.input.getInputProcessor();
+        if (current == this) return;
+        delegate = current;
+        Gdx.input.setInputProcessor(this);
+    }
+
+    /** Call at the end of every frame with the delta that frame ran with. */
+    public void endFrame(float delta) {
+        recording.deltas.add(delta);
+        frame++;
+        attach();
+    }
+
+    /**
+     * Call at the start of every frame with the power state; changes are recorded, since they change the
+     * simulation's tick length and whether it runs at all.
+     */
+    public void power(boolean focused, boolean minimized, boolean paused) {
+        if (focused == this.focused && minimized == this.minimized && paused == this.paused) return;
+        this.focused = focused;
+        this.minimized = minimized;
+        this.paused = paused;
+        record(InputRecording.POWER, focused ? 1 : 0, minimized ? 1 : 0, paused ? 1 : 0, 0);
+    }
+
+    /** Call from the application's resize, with the size the game was given. */
+    public void resized(int width, int height) {
+        record(InputRecording.RESIZE, width, height, 0, 0);
+    }
+
+    private void record(int type, int a, int b, int c, int d) {
+        recording.add(frame, (int)(TimeUtils.millis() - start), type, a, b, c, d);
+    }
+
+    @Override public boolean keyDown(int keycode) {
+        record(InputRecording.KEY_DOWN, keycode, 0, 0, 0);
+        return delegate != null && delegate.keyDown(keycode);
+    }
+
+    @Override public boolean keyUp(int keycode) {
+        record(InputRecording.KEY_UP, keycode, 0, 0, 0);
+        return delegate != null && delegate.keyUp(keycode);
+    }
+
+    @Override public boolean keyTyped(char character) {
+        record(InputRecording.KEY_TYPED, character, 0, 0, 0);
+        return delegate != null && delegate.keyTyped(character);
+    }
+
+    @Override public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        record(InputRecording.TOUCH_DOWN, screenX, screenY, pointer, button);
+        return delegate != null && delegate.touchDown(screenX, screenY, pointer, button);
+    }
+
+    @Override public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+        record(InputRecording.TOUCH_UP, screenX, screenY, pointer, button);
+        return delegate != null && delegate.touchUp(screenX, screenY, pointer, button);
+    }
+
+    @Override public boolean touchCancelled(int screenX, int screenY, int pointer, int button) {
+        record(InputRecording.TOUCH_CANCELLED, screenX, screenY, pointer, button);
+        return delegate != null && delegate.touchCancelled(screenX, screenY, pointer, button);
+    }
+
+    @Override public boolean touchDragged(int screenX, int screenY, int pointer) {
+        record(InputRecording.TOUCH_DRAGGED, screenX, screenY, pointer, 0);
+        return delegate != null && delegate.touchDragged(screenX, screenY, pointer);
+    }
+
+    @Override public boolean mouseMoved(int screenX, int screenY) {
+        record(InputRecording.MOUSE_MOVED, screenX, screenY, 0, 0);
+        return delegate != null && delegate.mouseMoved(screenX, screenY);
+    }
+
+    @Override public boolean scrolled(float amountX, float amountY) {
+        record(InputRecording.SCROLLED, Float.floatToIntBits(amountX), Float.floatToIntBits(amountY), 0, 0);
+        return delegate != null && delegate.scrolled(amountX, amountY);
+    }
+}
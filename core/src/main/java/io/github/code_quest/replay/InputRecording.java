@@ -0,0 +1,141 @@
+package io.github.code_quest.replay;
+
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.files.FileHandle;
+import io.github.code_quest.Main;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A recorded session: the seed, quality and window size it ran with, every frame's delta, and the input,
+ * resize and focus/minimize/pause events delivered before each frame. Replaying the same deltas and events
+ * from the same seed reproduces the session frame for frame, pointer positions and tick lengths included.
+ */
+public class InputRecording {
+    static final int KEY_DOWN = 0, KEY_UP = 1, KEY_TYPED = 2, TOUCH_DOWN = 3, TOUCH_UP = 4,
+        TOUCH_DRAGGED = 5, TOUCH_CANCELLED = 6, MOUSE_MOVED = 7, SCROLLED = 8, RESIZE = 9,
+        POWER = 10;
+
+    private static final int MAGIC = 0x43514952; // "CQIR"
+    private static final int VERSION = 2;
+    static final int STRIDE = 7; // frame, millis, type, four arguments
+
+    public final long seed;
+    public final float tickRate;
+    public final int quality; // Quality ordinal the session ran at
+    public final int width, height; // window size the game was first resized to; 0 in version 1 recordings
+    final FloatArray deltas = new FloatArray();
+    final IntArray events = new IntArray();
+    private int cursor;
+
+    public InputRecording(long seed, float tickRate, int quality, int width, int height) {
+        this.seed = seed;
+        this.tickRate = tickRate;
+        this.quality = quality;
+        this.width = width;
+        this.height = height;
+    }
+
+    public int getFrameCount() {
+        return deltas.size;
+    }
+
+    public float getDelta(int frame) {
+        return deltas.get(frame);
+    }
+
+    public int getEventCount() {
+        return events.size / STRIDE;
+    }
+
+    void add(int frame, int millis, int type, int a, int b, int c, int d) {
+        events.add(frame, millis, type, a);
+        events.add(b, c, d);
+    }
+
+    /**
+     * Delivers every event recorded before {@code frame}: input to {@code target}, resizes and focus,
+     * minimize and pause changes to {@code game}. Call with increasing frames.
+     */
+    public void dispatch(int frame, InputProcessor target, Main game) {
+        int[] e = events.items;
+        for (; cursor < events.size && e[cursor] <= frame; cursor += STRIDE) {
+            if (e[cursor] < frame) continue;
+            int a = e[cursor + 3], b = e[cursor + 4], c = e[cursor + 5], d = e[cursor + 6];
+            switch (e[cursor + 2]) {
+                case KEY_DOWN: target.keyDown(a); break;
+                case KEY_UP: target.keyUp(a); break;
+                case KEY_TYPED: target.keyTyped((char)a); break;
+                case TOUCH_DOWN: target.touchDown(a, b, c, d); break;
+                case TOUCH_UP: target.touchUp(a, b, c, d); break;
+                case TOUCH_DRAGGED: target.touchDragged(a, b, c); break;
+                case TOUCH_CANCELLED: target.touchCancelled(a, b, c, d); break;
+                case MOUSE_MOVED: target.mouseMoved(a, b); break;
+                case SCROLLED: target.scrolled(Float.intBitsToFloat(a), Float.intBitsToFloat(b)); break;
+                case RESIZE: game.resize(a, b); break;
+                case POWER: power(game, a != 0, b != 0, c != 0); break;
+                default: break;
+            }
+        }
+    }
+
+    // Through the same calls the platform makes, so the tick length and the accumulator follow the live run.
+    private static void power(Main game, boolean focused, boolean minimized, boolean paused) {
+        if (paused && !game.power.isPaused()) game.pause();
+        game.power.setFocused(focused);
+        game.power.setMinimized(minimized);
+        if (!paused && game.power.isPaused()) game.resume();
+    }
+
+    public void write(FileHandle file) {
+        DataOutputStream out = new DataOutputStream(file.write(false, 8192));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(seed);
+            out.writeFloat(tickRate);
+            out.writeInt(quality);
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeInt(deltas.size);
+            for (int i = 0; i < deltas.size; i++) out.writeFloat(deltas.get(i));
+            out.writeInt(events.size);
+            for (int i = 0; i < events.size; i++) out.writeInt(events.get(i));
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Writing recording " + file + " failed", e);
+        } finally {
+            StreamUtils.closeQuietly(out);
+        }
+    }
+
+    public static InputRecording read(FileHandle file) {
+        DataInputStream in = new DataInputStream(file.read(8192));
+        try {
+            if (in.readInt() != MAGIC) throw new GdxRuntimeException("Not a recording: " + file);
+            int version = in.readInt();
+            if (version > VERSION) throw new GdxRuntimeException("Recording from a newer version: " + file);
+            long seed = in.readLong();
+            float tickRate = in.readFloat();
+            int quality = in.readInt();
+            int width = version >= 2 ? in.readInt() : 0, height = version >= 2 ? in.readInt() : 0;
+            InputRecording recording = new InputRecording(seed, tickRate, quality, width, height);
+            int frames = in.readInt();
+            recording.deltas.ensureCapacity(frames);
+            for (int i = 0; i < frames; i++) recording.deltas.add(in.readFloat());
+            int ints = in.readInt();
+            recording.events.ensureCapacity(ints);
+            for (int i = 0; i < ints; i++) recording.events.add(in.readInt());
+            return recording;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Reading recording " + file + " failed", e);
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+    }
+}
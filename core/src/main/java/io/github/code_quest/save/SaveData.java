@@ -0,0 +1,99 @@
+package io.github.code_quest.save;
+
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntSet;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * In-memory state of one save slot, split into independently checksummed sections. Only sections
+ * whose bytes actually changed are marked dirty, so {@link SaveSlots} rewrites just those.
+ */
+public class SaveData {
+    public static final int PROFILE = 1;   // player avatar and name
+    public static final int PROGRESS = 2;  // current biome / checkpoint
+
+    private final IntMap<byte[]> sections = new IntMap<>();
+    private final IntSet dirty = new IntSet();
+    private String label = "";
+    int slot = -1; // slot this data was last loaded from or saved to
+    private double playSeconds; // double: a float stops counting single ticks after a few hours
+
+    public void put(int section, byte[] bytes) {
+        if (Arrays.equals(sections.get(section), bytes)) return;
+        sections.put(section, bytes);
+        dirty.add(section);
+    }
+
+    public byte[] get(int section) {
+        return sections.get(section);
+    }
+
+    public boolean isDirty() {
+        return dirty.size > 0;
+    }
+
+    // --- typed section helpers ---
+
+    public void setFemale(boolean female) {
+        put(PROFILE, new byte[] { 1, (byte)(female ? 1 : 0) }); // [layout version, avatar]
+    }
+
+    public boolean isFemale() {
+        byte[] profile = get(PROFILE);
+        return profile != null && profile.length > 1 && profile[1] == 1;
+    }
+
+    public void setBiome(String biome) {
+        put(PROGRESS, biome.getBytes(StandardCharsets.UTF_8));
+        label = biome;
+    }
+
+    public String getBiome() {
+        byte[] progress = get(PROGRESS);
+        return progress != null ? new String(progress, StandardCharsets.UTF_8) : null;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public int getPlaySeconds() {
+        return (int)playSeconds;
+    }
+
+    public void addPlayTime(float seconds) {
+        playSeconds += seconds;
+    }
+
+    /** Copies the dirty sections for the writer thread and clears the dirty set. */
+    IntMap<byte[]> takeDirty() {
+        IntMap<byte[]> copy = new IntMap<>(dirty.size);
+        IntSet.IntSetIterator it = dirty.iterator();
+        while (it.hasNext) {
+            int id = it.next();
+            copy.put(id, sections.get(id).clone());
+        }
+        dirty.clear();
+        return copy;
+    }
+
+    /** Marks everything dirty, e.g. when this data is written into a different slot. */
+    void markAllDirty() {
+        for (IntMap.Entry<byte[]> entry : sections) dirty.add(entry.key);
+    }
+
+    void loaded(int section, byte[] bytes) {
+        sections.put(section, bytes);
+    }
+
+    void loadedHeader(SlotHeader header) {
+        label = header.label;
+        playSeconds = header.playSeconds;
+    }
+}
@@ -0,0 +1,333 @@
+package io.github.code_quest.save;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned binary save slots. Each slot file starts with two copies of a fixed {@value #HEADER_SIZE}-byte
+ * header (magic, version, timestamp, play time, label, a section table and a generation number), followed
+ * by sections that each carry their own CRC32. Every section owns two extents with spare capacity: a
+ * changed section is written into the extent the newest header does not point at, and only once it is
+ * on disk is the older header copy overwritten with the new table. A crash at any point leaves the
+ * newest intact header pointing at intact data. Unchanged sections are left alone, and listing slots
+ * reads only headers.
+ * <p>
+ * {@link #save(int, SaveData)} snapshots the dirty sections and hands them to a single background
+ * writer thread, so autosaving never blocks the render thread. Saves queued for the same slot
+ * before the writer gets to them are merged. Readers take no lock either: a header torn by a
+ * concurrent write fails its CRC and the other copy is used, and a section rewritten under a slow
+ * reader fails its checksum, upon which the read starts over from the newer header.
+ */
+public class SaveSlots implements Disposable {
+    public static final int AUTOSAVE_SLOT = 0;
+    public static final int SLOT_COUNT = 24;
+
+    static final int MAGIC = 0x43515356; // "CQSV"
+    static final short VERSION = 2;
+    static final int HEADER_SIZE = 512; // per copy; the two copies fill the first 2 * HEADER_SIZE bytes
+    private static final int LABEL_OFFSET = 24, LABEL_BYTES = 62;
+    private static final int TABLE_OFFSET = 88, ENTRY_SIZE = 24, MAX_SECTIONS = 16;
+    private static final int GENERATION_OFFSET = TABLE_OFFSET + ENTRY_SIZE * MAX_SECTIONS;
+    private static final int MIN_CAPACITY = 256;
+    private static final int READ_ATTEMPTS = 3; // a load racing the writer retries from the newer header
+
+    private final FileHandle dir;
+    private final ExecutorService writer;
+    private final IntMap<Snapshot> pending = new IntMap<>();
+
+    private static class Snapshot {
+        final IntMap<byte[]> sections = new IntMap<>();
+        String label;
+        int playSeconds;
+        long savedAt;
+    }
+
+    private static class Entry {
+        int id, offset, spare, capacity, length, crc; // spare: the section's other extent
+    }
+
+    /** The newest valid header copy of a slot file. */
+    private static class Table {
+        final Array<Entry> entries = new Array<>();
+        long generation;
+        int copy; // 0 or 1: where this header sits
+    }
+
+    public SaveSlots(FileHandle dir) {
+        this.dir = dir;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "save-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private Path path(int slot) {
+        return dir.child("slot-" + slot + ".sav").file().toPath();
+    }
+
+    /** Queues the changed sections of {@code data} for writing to {@code slot}; returns immediately. */
+    public void save(int slot, SaveData data) {
+        if (data.slot != slot) {
+            data.markAllDirty(); // a different slot needs every section
+            data.slot = slot;
+        }
+        IntMap<byte[]> dirty = data.takeDirty();
+        synchronized (pending) {
+            Snapshot snapshot = pending.get(slot);
+            if (snapshot == null) {
+                snapshot = new Snapshot();
+                pending.put(slot, snapshot);
+                final int target = slot;
+                writer.execute(() -> flush(target));
+            }
+            snapshot.sections.putAll(dirty);
+            snapshot.label = data.getLabel();
+            snapshot.playSeconds = data.getPlaySeconds();
+            snapshot.savedAt = System.currentTimeMillis();
+        }
+    }
+
+    private void flush(int slot) {
+        Snapshot snapshot;
+        synchronized (pending) {
+            snapshot = pending.remove(slot);
+        }
+        if (snapshot == null) return;
+        try {
+            write(slot, snapshot);
+        } catch (IOException | RuntimeException e) {
+            Gdx.app.error("SaveSlots", "Writing slot " + slot + " failed", e);
+        }
+    }
+
+    // Only the writer thread gets here, so writes to a slot never overlap.
+    private void write(int slot, Snapshot snapshot) throws IOException {
+        dir.mkdirs();
+        try (FileChannel ch = FileChannel.open(path(slot), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Table table = readTable(ch);
+            if (table == null) {
+                table = new Table(); // new or unreadable file: start over
+                table.copy = 1;      // so the first header goes to copy 0
+                ch.truncate(0);
+            }
+            long end = Math.max(2L * HEADER_SIZE, ch.size());
+            CRC32 crc = new CRC32();
+
+            for (IntMap.Entry<byte[]> section : snapshot.sections) {
+                byte[] bytes = section.value;
+                Entry entry = find(table.entries, section.key);
+                if (entry == null) {
+                    if (table.entries.size == MAX_SECTIONS) throw new IOException("Too many sections in slot " + slot);
+                    entry = new Entry();
+                    entry.id = section.key;
+                    table.entries.add(entry);
+                }
+                if (entry.capacity < bytes.length) {
+                    // New or outgrown: two fresh extents at the end with room to grow; the old ones are left unused.
+                    entry.capacity = Math.max(MIN_CAPACITY, MathUtils.nextPowerOfTwo(bytes.length) * 2);
+                    entry.spare = (int)end;
+                    entry.offset = (int)end + entry.capacity;
+                    end += 2L * entry.capacity;
+                }
+                // Never over the extent the current header points at.
+                int target = entry.spare;
+                entry.spare = entry.offset;
+                entry.offset = target;
+                writeFully(ch, ByteBuffer.wrap(bytes), target);
+                crc.reset();
+                crc.update(bytes);
+                entry.length = bytes.length;
+                entry.crc = (int)crc.getValue();
+            }
+            ch.force(false); // sections are on disk before any header refers to them
+
+            // Replace the older header copy; until this lands, the newest one still describes intact data.
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            writeHeader(header, snapshot, table.entries, table.generation + 1);
+            writeFully(ch, header, (1 - table.copy) * (long)HEADER_SIZE);
+            ch.force(false);
+        }
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) position += ch.write(buffer, position);
+    }
+
+    private static void writeHeader(ByteBuffer header, Snapshot snapshot, Array<Entry> table, long generation) {
+        for (int i = 0; i < HEADER_SIZE; i++) header.put(i, (byte)0);
+        header.putInt(0, MAGIC);
+        header.putShort(4, VERSION);
+        header.putShort(6, (short)table.size);
+        header.putLong(8, snapshot.savedAt);
+        header.putInt(16, snapshot.playSeconds);
+
+        byte[] label = snapshot.label == null ? new byte[0] : snapshot.label.getBytes(StandardCharsets.UTF_8);
+        int labelLength = Math.min(label.length, LABEL_BYTES);
+        header.putShort(LABEL_OFFSET, (short)labelLength);
+        for (int i = 0; i < labelLength; i++) header.put(LABEL_OFFSET + 2 + i, label[i]);
+
+        for (int i = 0; i < table.size; i++) {
+            Entry e = table.get(i);
+            int at = TABLE_OFFSET + i * ENTRY_SIZE;
+            header.putInt(at, e.id);
+            header.putInt(at + 4, e.offset);
+            header.putInt(at + 8, e.spare);
+            header.putInt(at + 12, e.capacity);
+            header.putInt(at + 16, e.length);
+            header.putInt(at + 20, e.crc);
+        }
+        header.putLong(GENERATION_OFFSET, generation);
+        header.putInt(20, headerCrc(header));
+    }
+
+    // Covers every header byte except the checksum field itself (bytes 20-23).
+    private static int headerCrc(ByteBuffer header) {
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < HEADER_SIZE; i++) if (i < 20 || i >= LABEL_OFFSET) crc.update(header.get(i));
+        return (int)crc.getValue();
+    }
+
+    /** Reads and validates header copy {@code copy}; null when it is missing, from another version or corrupt. */
+    private static ByteBuffer readHeader(FileChannel ch, int copy) throws IOException {
+        long at = copy * (long)HEADER_SIZE;
+        if (ch.size() < at + HEADER_SIZE) return null;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (ch.read(header, at + header.position()) < 0) return null;
+        }
+        if (header.getInt(0) != MAGIC || header.getShort(4) != VERSION) return null;
+        if (header.getInt(20) != headerCrc(header)) return null;
+        return header;
+    }
+
+    /** The valid header copy with the highest generation; null when neither copy is readable. */
+    private static ByteBuffer readNewestHeader(FileChannel ch) throws IOException {
+        return newer(readHeader(ch, 0), readHeader(ch, 1));
+    }
+
+    private static ByteBuffer newer(ByteBuffer first, ByteBuffer second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        return second.getLong(GENERATION_OFFSET) > first.getLong(GENERATION_OFFSET) ? second : first;
+    }
+
+    private static Table readTable(FileChannel ch) throws IOException {
+        ByteBuffer first = readHeader(ch, 0), second = readHeader(ch, 1);
+        ByteBuffer header = newer(first, second);
+        if (header == null) return null;
+        Table table = new Table();
+        table.copy = header == first ? 0 : 1;
+        table.generation = header.getLong(GENERATION_OFFSET);
+        int count = header.getShort(6);
+        for (int i = 0; i < count; i++) {
+            int at = TABLE_OFFSET + i * ENTRY_SIZE;
+            Entry e = new Entry();
+            e.id = header.getInt(at);
+            e.offset = header.getInt(at + 4);
+            e.spare = header.getInt(at + 8);
+            e.capacity = header.getInt(at + 12);
+            e.length = header.getInt(at + 16);
+            e.crc = header.getInt(at + 20);
+            table.entries.add(e);
+        }
+        return table;
+    }
+
+    private static Entry find(Array<Entry> table, int id) {
+        for (Entry e : table) if (e.id == id) return e;
+        return null;
+    }
+
+    /** Reads only the header of {@code slot}; null when the slot is empty or unreadable. */
+    public SlotHeader readHeader(int slot) {
+        Path path = path(slot);
+        if (!path.toFile().exists()) return null;
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = readNewestHeader(ch);
+            if (header == null) return null;
+            int labelLength = Math.min(header.getShort(LABEL_OFFSET), LABEL_BYTES);
+            byte[] label = new byte[Math.max(0, labelLength)];
+            for (int i = 0; i < label.length; i++) label[i] = header.get(LABEL_OFFSET + 2 + i);
+            return new SlotHeader(slot, header.getLong(8), header.getInt(16), new String(label, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** Headers of every non-empty slot, for the load menu. */
+    public Array<SlotHeader> listSlots() {
+        Array<SlotHeader> headers = new Array<>();
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            SlotHeader header = readHeader(slot);
+            if (header != null) headers.add(header);
+        }
+        return headers;
+    }
+
+    /** Loads every section of {@code slot}; sections failing their checksum are skipped. Null when unreadable. */
+    public SaveData load(int slot) {
+        for (int attempt = 1; ; attempt++) {
+            SlotHeader slotHeader = readHeader(slot);
+            if (slotHeader == null) return null;
+            try (FileChannel ch = FileChannel.open(path(slot), StandardOpenOption.READ)) {
+                Table table = readTable(ch);
+                if (table == null) return null;
+                SaveData data = new SaveData();
+                data.loadedHeader(slotHeader);
+                data.slot = slot;
+                CRC32 crc = new CRC32();
+                boolean torn = false;
+                for (Entry e : table.entries) {
+                    ByteBuffer buffer = ByteBuffer.allocate(e.length);
+                    while (buffer.hasRemaining()) {
+                        if (ch.read(buffer, e.offset + buffer.position()) < 0) break;
+                    }
+                    byte[] bytes = buffer.array();
+                    crc.reset();
+                    crc.update(bytes);
+                    if ((int)crc.getValue() != e.crc) {
+                        torn = true;
+                        continue;
+                    }
+                    data.loaded(e.id, bytes);
+                }
+                // The writer may have reused an extent while we read it; a newer header means try again.
+                Table newest = torn && attempt < READ_ATTEMPTS ? readTable(ch) : null;
+                if (newest != null && newest.generation != table.generation) continue;
+                if (torn) Gdx.app.error("SaveSlots", "Slot " + slot + " has sections that failed their checksum; skipped");
+                return data;
+            } catch (IOException e) {
+                Gdx.app.error("SaveSlots", "Reading slot " + slot + " failed", e);
+                return null;
+            }
+        }
+    }
+
+    /** Finishes queued writes, then stops the writer thread. */
+    @Override
+    public void dispose() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
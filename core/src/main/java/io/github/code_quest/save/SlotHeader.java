@@ -0,0 +1,16 @@
+package io.github.code_quest.save;
+
+/** What the load menu shows for a slot; read from the fixed-size file header alone. */
+public class SlotHeader {
+    public final int slot;
+    public final long savedAtMillis;
+    public final int playSeconds;
+    public final String label;
+
+    SlotHeader(int slot, long savedAtMillis, int playSeconds, String label) {
+        this.slot = slot;
+        this.savedAtMillis = savedAtMillis;
+        this.playSeconds = playSeconds;
+        this.label = label;
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.code_quest.screens;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.utils.SnapshotArray;
+
+/**
+ * A screen that can say whether it has work in flight, such as a load or a running action. A minimized
+ * game draws no frames of its own, so {@link io.github.code_quest.Main} keeps waking it only while the
+ * screen or a screen change is busy.
+ */
+public interface BusyScreen extends Screen {
+    /** True while something on this screen needs more frames to finish. */
+    boolean isBusy();
+
+    /** True when {@code actor} or anything under it still has actions to run. */
+    static boolean hasActions(Actor actor) {
+        if (actor.hasActions()) return true;
+        if (!(actor instanceof Group)) return false;
+        SnapshotArray<Actor> children = ((Group)actor).getChildren();
+        for (int i = 0, n = children.size; i < n; i++) {
+            if (hasActions(children.get(i))) return true;
+        }
+        return false;
+    }
+}
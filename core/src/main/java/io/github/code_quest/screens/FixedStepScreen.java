@@ -0,0 +1,19 @@
+package io.github.code_quest.screens;
+
+import com.badlogic.gdx.Screen;
+
+/**
+ * A screen whose simulation advances in fixed ticks. {@link io.github.code_quest.Main} calls
+ * {@link #step(float)} zero or more times per frame, then {@link #draw(float, float)} once;
+ * {@link Screen#render(float)} is only a fallback for callers that drive the screen directly.
+ */
+public interface FixedStepScreen extends Screen {
+    /** Advances the simulation by exactly one tick of {@code tick} seconds. */
+    void step(float tick);
+
+    /**
+     * Renders one frame. {@code delta} is the real frame time, for per-frame work such as input
+     * polling; {@code alpha} is how far the frame sits between the previous tick and the latest.
+     */
+    void draw(float delta, float alpha);
+}
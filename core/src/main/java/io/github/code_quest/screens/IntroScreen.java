@@ -2,13 +2,13 @@ package io.github.code_quest.screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.InputListener;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
@@ -18,58 +18,75 @@ import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.utils.Scaling;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import io.github.code_quest.Main;
+import io.github.code_quest.assets.AssetService;
+import io.github.code_quest.debug.ResourceTracker;
+import io.github.code_quest.ecs.EffectWorld;
 import io.github.code_quest.entities.actors.CodeRainActor;
+import io.github.code_quest.save.SaveSlots;
+import io.github.code_quest.settings.Quality;
+import io.github.code_quest.settings.Settings;
 
-public class IntroScreen implements Screen {
+public class IntroScreen implements FixedStepScreen, BusyScreen {
     private final Main game;
     private final boolean female;
     private final Stage stage;
     private final Skin skin;
-    private final SpriteBatch batch;
+    private final Batch batch;
+    private final AssetService.Lease assets;
+    private final EffectWorld effects; // simulates the background effects
+    private static final float AUTOSAVE_SECONDS = 30f;
+    private static final int HOLO_FONT_SIZE = 14;
+    private static final float GROUND_BOTTOM = 44f; // ground strip height above the bottom edge, clear of the prompt
+    private float sinceAutosave;
+    private final Settings.Listener qualityListener = this::applyQuality;
+    private CodeRainActor redRain;
+    private StaticLayer scenery; // background, figures and ground: cached when there is art, drawn under the rain
+    private Table root;          // labels; drawn at full resolution when the scene is scaled
 
-    private Texture bgCorrupted;   // optional art: ui/backgrounds/corrupted_biome.png
-    private Texture enemyBug;      // optional art: ui/enemies/bug.png
-    private Texture avatarMale;    // optional art: ui/avatars/male.png
-    private Texture avatarFemale;  // optional art: ui/avatars/female.png
+    private TextureRegion bgCorrupted;   // optional art: ui/backgrounds/corrupted_biome.png
+    private TextureRegion enemyBug;      // optional art: ui/enemies/bug.png
+    private TextureRegion avatarMale;    // optional art: ui/avatars/male.png
+    private TextureRegion avatarFemale;  // optional art: ui/avatars/female.png
 
     public IntroScreen(Main game, boolean femaleSelected) {
         this.game = game;
         this.female = femaleSelected;
-        this.batch = new SpriteBatch();
+        this.effects = new EffectWorld(game.nextSeed());
+        this.assets = game.assets.lease(ResourceTracker.ownerOf(this));
+        this.batch = assets.batch();
         this.stage = new Stage(new FitViewport(800, 480), batch);
-        this.skin = new Skin(Gdx.files.internal("ui/uiskin.json"));
-        
-        // FIX: ensure default-font exists
-        if (!skin.has("default-font", BitmapFont.class)) {
-            skin.add("default-font", new BitmapFont());
-        }
+        this.skin = assets.skin();
         
         loadOptionalAssets();
         buildUI();
+        wireInput();
         Gdx.input.setInputProcessor(stage);
+        game.settings.addListener(qualityListener);
+    }
+
+    private static final String[] OPTIONAL_ART = {
+        "ui/backgrounds/corrupted_biome.png", "ui/enemies/bug.png", "ui/avatars/male.png", "ui/avatars/female.png"
+    };
+
+    /** Queues everything this screen needs so a {@link LoadingScreen} can stream it in before construction. */
+    public static void preload(AssetService assets) {
+        assets.preload(AssetService.SKIN, Skin.class);
+        for (String path : OPTIONAL_ART) assets.preload(path, Texture.class);
     }
 
     private void loadOptionalAssets() {
-        bgCorrupted = loadIfExists("ui/backgrounds/corrupted_biome.png");
-        enemyBug = loadIfExists("ui/enemies/bug.png");
-        avatarMale = loadIfExists("ui/avatars/male.png");
-        avatarFemale = loadIfExists("ui/avatars/female.png");
+        bgCorrupted = loadIfExists(OPTIONAL_ART[0]);
+        enemyBug = loadIfExists(OPTIONAL_ART[1]);
+        avatarMale = loadIfExists(OPTIONAL_ART[2]);
+        avatarFemale = loadIfExists(OPTIONAL_ART[3]);
     }
 
-    private Texture loadIfExists(String path) {
-        if (Gdx.files.internal(path).exists()) return new Texture(Gdx.files.internal(path));
-        return null;
+    private TextureRegion loadIfExists(String path) {
+        return assets.region(path);
     }
 
-    private Image solidPlaceholder(Color color, int w, int h) {
-        Pixmap pm = new Pixmap(w, h, Pixmap.Format.RGBA8888);
-        pm.setColor(color);
-        pm.fill();
-        Texture t = new Texture(pm);
-        pm.dispose();
-        Image img = new Image(t);
-        img.setScaling(Scaling.stretch);
-        return img;
+    private Image solidPlaceholder(Color color) {
+        return assets.solids().image(color);
     }
 
     private void buildUI() {
@@ -79,31 +96,31 @@ public class IntroScreen implements Screen {
             bg = new Image(bgCorrupted);
             bg.setScaling(Scaling.stretch);
         } else {
-            bg = solidPlaceholder(new Color(0.05f, 0.0f, 0.02f, 1f), 8, 8);
+            bg = solidPlaceholder(new Color(0.05f, 0.0f, 0.02f, 1f));
         }
         bg.setFillParent(true);
-        stage.addActor(bg);
+        scenery = new StaticLayer(800, 480);
+        scenery.addActor(bg);
+        stage.addActor(scenery);
+        scenery.setCached(bgCorrupted != null || enemyBug != null || (female ? avatarFemale : avatarMale) != null);
 
         // Red-tinted code rain, slower, for ominous feel
-        CodeRainActor redRain = new CodeRainActor(800, 480, skin.getFont("default-font"), new Color(1f, 0.4f, 0.4f, 0.20f));
+        redRain = new CodeRainActor(effects, 800, 480, assets.font(CodeRainActor.FONT_SIZE, "default-font"), new Color(1f, 0.4f, 0.4f, 0.20f),
+            game.settings.getRainDrops());
         stage.addActor(redRain);
 
-        Table root = new Table();
-        root.setFillParent(true);
-        stage.addActor(root);
-
         // Left: Player avatar
         Image avatar = (female ? avatarFemale : avatarMale) != null
                 ? new Image(female ? avatarFemale : avatarMale)
-                : solidPlaceholder(new Color(0.18f, 0.18f, 0.18f, 1f), 96, 128);
+                : solidPlaceholder(new Color(0.18f, 0.18f, 0.18f, 1f));
 
         // Right: Enemy bug
         Image bug = enemyBug != null
                 ? new Image(enemyBug)
-                : solidPlaceholder(new Color(0.6f, 0.1f, 0.1f, 1f), 96, 96);
+                : solidPlaceholder(new Color(0.6f, 0.1f, 0.1f, 1f));
 
         // Middle-top: holographic message
-        Label.LabelStyle holoStyle = new Label.LabelStyle(skin.getFont("default-font"), Color.valueOf("D2F1FF"));
+        Label.LabelStyle holoStyle = new Label.LabelStyle(assets.font(HOLO_FONT_SIZE, "default-font"), Color.valueOf("D2F1FF"));
         Label holo = new Label("Welcome to the Digital Realm. The system is infected.\nOnly your Java skills can save it.", holoStyle);
         holo.setAlignment(com.badlogic.gdx.utils.Align.center);
         holo.setColor(0.8f, 1f, 1f, 0.88f);
@@ -112,9 +129,9 @@ public class IntroScreen implements Screen {
         )));
 
         // Ground strip to suggest half-natural, half-digital terrain
-        Image groundNatural = solidPlaceholder(new Color(0.1f, 0.2f, 0.1f, 1f), 8, 8);
+        Image groundNatural = solidPlaceholder(new Color(0.1f, 0.2f, 0.1f, 1f));
         groundNatural.setColor(0.12f, 0.22f, 0.12f, 1f);
-        Image groundDigital = solidPlaceholder(new Color(0.5f, 0.0f, 0.0f, 1f), 8, 8);
+        Image groundDigital = solidPlaceholder(new Color(0.5f, 0.0f, 0.0f, 1f));
         groundDigital.setColor(0.8f, 0.1f, 0.1f, 1f);
 
         Table top = new Table();
@@ -128,18 +145,27 @@ public class IntroScreen implements Screen {
         bottom.add(groundNatural).height(30).growX().expandX().width(400);
         bottom.add(groundDigital).height(30).growX().expandX().width(400);
 
-        root.top().pad(10);
-        root.add(top).growX().row();
-        root.add(middle).expand().row();
-        root.add(bottom).growX();
-
         // Continue on any key / click
         Label cont = new Label("Press Enter to continue...", skin);
         cont.setColor(Color.valueOf("F2C0C0"));
         cont.addAction(Actions.forever(Actions.sequence(
             Actions.fadeOut(0.6f), Actions.fadeIn(0.6f)
         )));
-        root.row();
+
+        // The scenery is laid out on its own, in the 800x480 design space: figures centred, ground strip
+        // at a fixed height. The live labels have a separate layout over the rain.
+        Table still = new Table();
+        still.setFillParent(true);
+        still.add(middle).expand().row();
+        still.add(bottom).growX().padBottom(GROUND_BOTTOM);
+        scenery.addActor(still);
+
+        root = new Table();
+        root.setFillParent(true);
+        stage.addActor(root);
+        root.top().pad(10);
+        root.add(top).growX().row();
+        root.add().expand().row();
         root.add(cont).pad(10);
 
         stage.getRoot().getColor().a = 0f;
@@ -147,32 +173,90 @@ public class IntroScreen implements Screen {
     }
 
     @Override public void show() {}
+    // Continue on Enter or a touch. Handled as stage events rather than polled, so recorded input replays.
+    private void wireInput() {
+        stage.addListener(new InputListener() {
+            @Override public boolean keyDown(InputEvent event, int keycode) {
+                if (keycode != Input.Keys.ENTER) return false;
+                onContinue();
+                return true;
+            }
+
+            @Override public boolean touchDown(InputEvent event, float x, float y, int pointer, int button) {
+                onContinue();
+                return true;
+            }
+        });
+    }
+
+    private void onContinue() {
+        if (game.transitions.isBusy()) return;
+        // TODO: switch to the first gameplay/level screen later
+        MenuScreen.preload(game.assets);
+        game.transitions.begin(0.4f, () -> new MenuScreen(game));
+        stage.addAction(Actions.fadeOut(0.4f));
+    }
+
     @Override
     public void render(float delta) {
-        if (Gdx.input.isKeyJustPressed(Input.Keys.ENTER) || Gdx.input.justTouched()) {
-            // TODO: switch to the first gameplay/level screen later
-            stage.addAction(Actions.sequence(
-                Actions.fadeOut(0.4f),
-                Actions.run(() -> game.setScreen(new MenuScreen(game)))
-            ));
+        step(delta);
+        draw(delta, 1f);
+    }
+
+    @Override
+    public void step(float tick) {
+        // Game time, so play time and the autosave timer follow the simulation: capped stalls and paused
+        // frames don't count, and headless runs that only step still autosave
+        game.session.addPlayTime(tick);
+        sinceAutosave += tick;
+        if (sinceAutosave >= AUTOSAVE_SECONDS) {
+            sinceAutosave = 0f;
+            game.saves.save(SaveSlots.AUTOSAVE_SLOT, game.session); // queued; written off the render thread
         }
+        effects.update(tick);
+        stage.act(tick);
+    }
+
+    @Override
+    public boolean isBusy() {
+        return BusyScreen.hasActions(stage.getRoot());
+    }
 
+    @Override
+    public void draw(float delta, float alpha) {
+        effects.setAlpha(alpha); // effect actors interpolate and extract their state while drawing
+        scenery.validate();
+        game.scaler.begin(stage.getViewport());
         Gdx.gl.glClearColor(0f, 0f, 0f, 1f);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-        stage.act(delta);
-        stage.draw();
+        game.scaler.drawWorld(stage, root);
+        game.scaler.end();
+        game.scaler.drawUi(stage, root);
     }
+
     @Override public void resize(int width, int height) { stage.getViewport().update(width, height, true); }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public EffectWorld getEffects() {
+        return effects;
+    }
+
     @Override public void pause() {}
     @Override public void resume() {}
     @Override public void hide() {}
+    private void applyQuality(Quality quality) {
+        redRain.setDropCount(game.settings.getRainDrops());
+    }
+
     @Override public void dispose() {
+        game.settings.removeListener(qualityListener);
         stage.dispose();
-        skin.dispose();
-        batch.dispose();
-        if (bgCorrupted != null) bgCorrupted.dispose();
-        if (enemyBug != null) enemyBug.dispose();
-        if (avatarMale != null) avatarMale.dispose();
-        if (avatarFemale != null) avatarFemale.dispose();
+        scenery.dispose();
+        effects.dispose();
+        // Skin, batch and optional art are shared; the lease hands them back to the cache.
+        assets.release();
     }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package io.github.code_quest.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import io.github.code_quest.Main;
+import io.github.code_quest.assets.AssetService;
+import io.github.code_quest.debug.ResourceTracker;
+
+// Time-sliced loading screen: the asset service decodes queued images on its worker thread,
+// and each frame spends at most FRAME_BUDGET_MS uploading them on the GL thread.
+public class LoadingScreen implements BusyScreen {
+    public static final int FRAME_BUDGET_MS = 8;
+    private static final String MUSIC = "sounds/loadingscreenmusic.mp3";
+
+    private final Main game;
+    private final AssetService assets;
+    private final ScreenFactory next;
+    private final FitViewport viewport = new FitViewport(800, 480);
+    private final ShapeRenderer shapes = new ShapeRenderer();
+    private final BitmapFont font = new BitmapFont();
+    private final StringBuilder label = new StringBuilder("Loading... 0%");
+    private Music music;
+    private int shownPercent;
+    private float visualProgress;
+
+    public LoadingScreen(Main game, ScreenFactory next) {
+        this.game = game;
+        this.assets = game.assets;
+        this.next = next;
+        Texture glyphs = font.getRegion().getTexture();
+        ResourceTracker.created(glyphs, null, AssetService.estimateBytes(glyphs));
+    }
+
+    @Override public void show() {}
+
+    /** Always: it loads until it hands over to the next screen. */
+    @Override
+    public boolean isBusy() {
+        return true;
+    }
+
+    @Override
+    public void render(float delta) {
+        if (assets.update(FRAME_BUDGET_MS)) {
+            // Everything needed is resident; the next screen builds without touching the disk.
+            // The transition swaps it in after this frame and disposes us.
+            game.transitions.begin(0f, next);
+        } else if (music == null && Gdx.files.internal(MUSIC).exists()) {
+            // Only start the music once loading actually spans more than one frame.
+            music = Gdx.audio.newMusic(Gdx.files.internal(MUSIC));
+            music.setLooping(true);
+            music.setVolume(0.6f);
+            music.play();
+        }
+
+        visualProgress += (assets.getProgress() - visualProgress) * Math.min(1f, delta * 10f);
+        int percent = (int)(visualProgress * 100f);
+        if (percent != shownPercent) {
+            shownPercent = percent;
+            label.setLength(0);
+            label.append("Loading... ").append(percent).append('%');
+        }
+
+        Gdx.gl.glClearColor(0f, 0f, 0.05f, 1f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        viewport.apply();
+
+        float x = 200f, y = 200f, w = 400f, h = 16f;
+        shapes.setProjectionMatrix(viewport.getCamera().combined);
+        shapes.begin(ShapeRenderer.ShapeType.Filled);
+        shapes.setColor(0.1f, 0.16f, 0.1f, 1f);
+        shapes.rect(x, y, w, h);
+        shapes.setColor(0.62f, 0.89f, 0.58f, 1f);
+        shapes.rect(x, y, w * visualProgress, h);
+        shapes.end();
+
+        game.batch.setProjectionMatrix(viewport.getCamera().combined);
+        game.batch.begin();
+        font.setColor(Color.WHITE);
+        font.draw(game.batch, label, x, y + h + 24f);
+        game.batch.end();
+    }
+
+    @Override public void resize(int width, int height) { viewport.update(width, height, true); }
+    @Override public void pause() {
+        if (music != null) music.pause();
+    }
+    @Override public void resume() {
+        if (music != null) music.play();
+    }
+    @Override public void hide() {
+        if (music != null) music.stop();
+    }
+    @Override public void dispose() {
+        shapes.dispose();
+        ResourceTracker.disposed(font.getRegion().getTexture());
+        font.dispose();
+        if (music != null) {
+            music.dispose();
+            music = null;
+        }
+    }
+}
@@ -2,41 +2,58 @@ package io.github.code_quest.screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.InputListener;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
+import com.badlogic.gdx.scenes.scene2d.ui.Dialog;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Scaling;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import io.github.code_quest.Main;
+import io.github.code_quest.assets.AssetService;
+import io.github.code_quest.debug.ResourceTracker;
+import io.github.code_quest.ecs.EffectWorld;
 import io.github.code_quest.entities.actors.CodeRainActor;
 import io.github.code_quest.entities.GlitchParticles;
+import io.github.code_quest.save.SaveData;
+import io.github.code_quest.save.SaveSlots;
+import io.github.code_quest.settings.Quality;
+import io.github.code_quest.settings.Settings;
+import io.github.code_quest.save.SlotHeader;
+
+import java.text.DateFormat;
+import java.util.Date;
+
+public class MenuScreen implements FixedStepScreen, BusyScreen {
+    private static final int LOGO_FONT_SIZE = 28;
 
-public class MenuScreen implements Screen {
     private final Main game;
     private final Stage stage;
     private final Skin skin;
-    private final SpriteBatch batch;
-
-    private Texture bgGreenValley;     // optional art: ui/backgrounds/green_valley.png
-    private Texture logoTexture;       // optional art: ui/logo-codequest.png
-    private Texture avatarMale;        // optional art: ui/avatars/male.png
-    private Texture avatarFemale;      // optional art: ui/avatars/female.png
+    private final Batch batch;
+    private final AssetService.Lease assets;
+    private final EffectWorld effects; // simulates the background effects
+
+    private TextureRegion bgGreenValley;  // optional art: ui/backgrounds/green_valley.png
+    private TextureRegion logoTexture;    // optional art: ui/logo-codequest.png
+    private TextureRegion avatarMale;     // optional art: ui/avatars/male.png
+    private TextureRegion avatarFemale;   // optional art: ui/avatars/female.png
     private Image avatarImage;
 
     private boolean femaleSelected = false;
@@ -45,48 +62,51 @@ public class MenuScreen implements Screen {
     private CodeRainActor codeRain;
     private GlitchParticles glitchParticles;
 
+    private final Settings.Listener qualityListener = this::applyQuality;
+
     private Table root;
     private TextButton startBtn, loadBtn, settingsBtn, exitBtn;
     private Label subtitleLabel;
 
     public MenuScreen(Main game) {
         this.game = game;
-        this.batch = new SpriteBatch();
+        this.femaleSelected = game.session.isFemale();
+        this.effects = new EffectWorld(game.nextSeed());
+        this.assets = game.assets.lease(ResourceTracker.ownerOf(this));
+        this.batch = assets.batch();
         this.stage = new Stage(new FitViewport(800, 480), batch);
-        this.skin = new Skin(Gdx.files.internal("ui/uiskin.json"));
-
-        // FIX: ensure default-font exists
-        if (!skin.has("default-font", BitmapFont.class)) {
-            skin.add("default-font", new BitmapFont());
-        }
+        this.skin = assets.skin();
 
         loadOptionalAssets();
         buildUI();
         wireInput();
+        game.settings.addListener(qualityListener);
+    }
+
+    private static final String[] OPTIONAL_ART = {
+        "ui/backgrounds/green_valley.png", "ui/logo-codequest.png", "ui/avatars/male.png", "ui/avatars/female.png"
+    };
+
+    /** Queues everything this screen needs so a {@link LoadingScreen} can stream it in before construction. */
+    public static void preload(AssetService assets) {
+        assets.preload(AssetService.SKIN, Skin.class);
+        for (String path : OPTIONAL_ART) assets.preload(path, Texture.class);
     }
 
     private void loadOptionalAssets() {
         // Try loading optional textures. If missing, we fallback to solid-color placeholders.
-        bgGreenValley = loadIfExists("ui/backgrounds/green_valley.png");
-        logoTexture = loadIfExists("ui/logo-codequest.png");
-        avatarMale = loadIfExists("ui/avatars/male.png");
-        avatarFemale = loadIfExists("ui/avatars/female.png");
+        bgGreenValley = loadIfExists(OPTIONAL_ART[0]);
+        logoTexture = loadIfExists(OPTIONAL_ART[1]);
+        avatarMale = loadIfExists(OPTIONAL_ART[2]);
+        avatarFemale = loadIfExists(OPTIONAL_ART[3]);
     }
 
-    private Texture loadIfExists(String path) {
-        if (Gdx.files.internal(path).exists()) return new Texture(Gdx.files.internal(path));
-        return null;
+    private TextureRegion loadIfExists(String path) {
+        return assets.region(path);
     }
 
-    private Image solidPlaceholder(Color color, int w, int h) {
-        Pixmap pm = new Pixmap(w, h, Pixmap.Format.RGBA8888);
-        pm.setColor(color);
-        pm.fill();
-        Texture t = new Texture(pm);
-        pm.dispose();
-        Image img = new Image(t);
-        img.setScaling(Scaling.stretch);
-        return img;
+    private Image solidPlaceholder(Color color) {
+        return assets.solids().image(color);
     }
 
     private void buildUI() {
@@ -95,21 +115,20 @@ public class MenuScreen implements Screen {
             backgroundImage = new Image(bgGreenValley);
             backgroundImage.setScaling(Scaling.stretch);
         } else {
-            backgroundImage = solidPlaceholder(new Color(0.07f, 0.12f, 0.06f, 1f), 8, 8);
+            backgroundImage = solidPlaceholder(new Color(0.07f, 0.12f, 0.06f, 1f));
         }
         backgroundImage.setFillParent(true);
-        stage.addActor(backgroundImage);
+        stage.addActor(backgroundImage); // one quad: nothing a cached layer could save
 
         // Subtle code rain behind UI
-        codeRain = new CodeRainActor(800, 480, skin.getFont("default-font"), new Color(0.8f, 1f, 0.8f, 0.18f));
+        codeRain = new CodeRainActor(effects, 800, 480, assets.font(CodeRainActor.FONT_SIZE, "default-font"), new Color(0.8f, 1f, 0.8f, 0.18f),
+            game.settings.getRainDrops());
         stage.addActor(codeRain);
 
         // Faint glitch particles
-        glitchParticles = new GlitchParticles(800, 480, 30, new Color(0.8f, 1f, 0.8f, 0.25f));
+        glitchParticles = new GlitchParticles(effects, 800, 480, game.settings.getGlitchBits(), new Color(0.8f, 1f, 0.8f, 0.25f), assets.solids().white());
         stage.addActor(glitchParticles);
 
-        // Centered logo is added in the center table below
-
         // Root layout
         root = new Table();
         root.setFillParent(true);
@@ -119,12 +138,12 @@ public class MenuScreen implements Screen {
         Table left = new Table(); left.pad(20);
 
         // Avatar image and glow
-        Texture avatarTx = femaleSelected ? avatarFemale : avatarMale;
-        Image avatar = (avatarTx != null) ? new Image(avatarTx) : solidPlaceholder(new Color(0.15f, 0.18f, 0.15f, 1f), 96, 128);
-        avatar.setScaling(Scaling.fit);
+        TextureRegion avatarTx = femaleSelected ? avatarFemale : avatarMale;
+        Image avatar = (avatarTx != null) ? new Image(avatarTx) : solidPlaceholder(new Color(0.15f, 0.18f, 0.15f, 1f));
+        if (avatarTx != null) avatar.setScaling(Scaling.fit); // placeholders stay stretched to the slot
 
         // Glow overlay using a semi-transparent white square pulsing
-        Image glow = solidPlaceholder(new Color(1f, 1f, 1f, 0.12f), 64, 64);
+        Image glow = solidPlaceholder(new Color(1f, 1f, 1f, 0.12f));
         glow.setColor(1f, 1f, 1f, 0.14f);
         glow.addAction(Actions.forever(Actions.sequence(
             Actions.scaleTo(1.08f, 1.08f, 1.0f),
@@ -141,12 +160,12 @@ public class MenuScreen implements Screen {
         TextButton femaleBtn = new TextButton("Female", skin);
         maleBtn.addListener(new ChangeListener() {
             @Override public void changed(ChangeEvent event, Actor actor) {
-                femaleSelected = false; updateAvatar();
+                femaleSelected = false; game.session.setFemale(false); updateAvatar();
             }
         });
         femaleBtn.addListener(new ChangeListener() {
             @Override public void changed(ChangeEvent event, Actor actor) {
-                femaleSelected = true; updateAvatar();
+                femaleSelected = true; game.session.setFemale(true); updateAvatar();
             }
         });
 
@@ -159,15 +178,18 @@ public class MenuScreen implements Screen {
         if (logoTexture != null) {
             center.add(new Image(logoTexture)).width(420).height(120).padBottom(10).row();
         } else {
-            Label.LabelStyle logoStyle = new Label.LabelStyle(skin.getFont("default-font"), Color.valueOf("9EE493"));
+            // Rasterized at its size when there is a TTF; otherwise the bitmap font scaled up.
+            BitmapFont logoFont = assets.font(LOGO_FONT_SIZE);
+            Label.LabelStyle logoStyle = new Label.LabelStyle(logoFont != null ? logoFont : skin.getFont("default-font"), Color.valueOf("9EE493"));
             Label logoLbl = new Label("CodeQuest", logoStyle);
-            logoLbl.setFontScale(2.2f);
+            if (logoFont == null) logoLbl.setFontScale(2.2f);
             logoLbl.setAlignment(Align.center);
             center.add(logoLbl).padBottom(10).row();
         }
 
         subtitleLabel = new Label("Green Valley — a warm digital meadow. Faint glitches drift in the wind...", skin);
         subtitleLabel.setColor(Color.valueOf("B6F6C1"));
+
         center.add(subtitleLabel).padBottom(20).row();
 
         // Right: menu options
@@ -207,9 +229,9 @@ public class MenuScreen implements Screen {
     }
 
     private void updateAvatar() {
-        Texture avatarTx = femaleSelected ? avatarFemale : avatarMale;
+        TextureRegion avatarTx = femaleSelected ? avatarFemale : avatarMale;
         if (avatarTx != null) {
-            avatarImage.setDrawable(new Image(avatarTx).getDrawable());
+            avatarImage.setDrawable(new TextureRegionDrawable(avatarTx));
         }
     }
 
@@ -250,23 +272,64 @@ public class MenuScreen implements Screen {
     }
 
     private void onStart() {
-        // Fade out and transition to intro scene
-        stage.addAction(Actions.sequence(
-            Actions.fadeOut(0.5f),
-            Actions.run(() -> game.setScreen(new IntroScreen(game, femaleSelected)))
-        ));
+        // Fade out and transition to intro scene, streaming its art in while we fade
+        if (game.transitions.isBusy()) return;
+        game.session.setFemale(femaleSelected);
+        game.session.setBiome("Corrupted Biome");
+        game.saves.save(SaveSlots.AUTOSAVE_SLOT, game.session);
+        IntroScreen.preload(game.assets);
+        final boolean female = femaleSelected;
+        game.transitions.begin(0.5f, () -> new IntroScreen(game, female));
+        stage.addAction(Actions.fadeOut(0.5f));
     }
 
     private void onLoad() {
-        // TODO: implement load flow
-        subtitleLabel.setText("Load feature coming soon. Prepare your save slots!");
+        // Only slot headers are read here, so the list opens instantly however many saves exist
+        Array<SlotHeader> slots = game.saves.listSlots();
+        if (slots.size == 0) {
+            subtitleLabel.setText("No saves yet. Press Start to begin your quest!");
+            subtitleLabel.addAction(Actions.sequence(Actions.alpha(0.6f, 0.15f), Actions.alpha(1f, 0.35f)));
+            return;
+        }
+        Dialog dialog = new Dialog("Load Game", skin) {
+            @Override protected void result(Object object) {
+                if (object instanceof SlotHeader) loadSlot(((SlotHeader)object).slot);
+            }
+        };
+        DateFormat dateFormat = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT);
+        for (SlotHeader header : slots) {
+            String name = header.slot == SaveSlots.AUTOSAVE_SLOT ? "Autosave" : "Slot " + header.slot;
+            String text = name + "  -  " + header.label + "  -  " + (header.playSeconds / 60) + " min  -  "
+                + dateFormat.format(new Date(header.savedAtMillis));
+            dialog.getButtonTable().row();
+            dialog.button(new TextButton(text, skin), header);
+        }
+        dialog.getButtonTable().row();
+        dialog.button("Cancel", null);
+        dialog.show(stage);
+    }
+
+    private void loadSlot(int slot) {
+        SaveData data = game.saves.load(slot);
+        if (data == null) {
+            subtitleLabel.setText("That save could not be read.");
+        } else {
+            game.session = data;
+            femaleSelected = data.isFemale();
+            updateAvatar();
+            subtitleLabel.setText("Save loaded. Press Start to continue your quest.");
+        }
         subtitleLabel.addAction(Actions.sequence(Actions.alpha(0.6f, 0.15f), Actions.alpha(1f, 0.35f)));
     }
 
     private void onSettings() {
-        // TODO: implement settings screen
-        subtitleLabel.setText("Settings incoming: keybinds, audio, pixel scaling, and more.");
-        subtitleLabel.addAction(Actions.sequence(Actions.alpha(0.6f, 0.15f), Actions.alpha(1f, 0.35f)));
+        new SettingsDialog(skin, game.settings).show(stage);
+    }
+
+    // Resizes the effects in place; the stage itself is left alone.
+    private void applyQuality(Quality quality) {
+        codeRain.setDropCount(game.settings.getRainDrops());
+        glitchParticles.setCount(game.settings.getGlitchBits());
     }
 
     private void onExit() {
@@ -281,24 +344,52 @@ public class MenuScreen implements Screen {
 
     @Override
     public void render(float delta) {
+        step(delta);
+        draw(delta, 1f);
+    }
+
+    @Override
+    public void step(float tick) {
+        effects.update(tick);
+        stage.act(tick);
+    }
+
+    @Override
+    public void draw(float delta, float alpha) {
+        effects.setAlpha(alpha); // effect actors interpolate and extract their state while drawing
+        game.scaler.begin(stage.getViewport());
         Gdx.gl.glClearColor(0f, 0f, 0.05f, 1f);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-        stage.act(delta);
-        stage.draw();
+        game.scaler.drawWorld(stage, root);
+        game.scaler.end();
+        game.scaler.drawUi(stage, root);
+    }
+
+    @Override
+    public boolean isBusy() {
+        return BusyScreen.hasActions(stage.getRoot());
     }
 
     @Override public void resize(int width, int height) { stage.getViewport().update(width, height, true); }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public EffectWorld getEffects() {
+        return effects;
+    }
+
     @Override public void pause() {}
     @Override public void resume() {}
     @Override public void hide() {}
     @Override
     public void dispose() {
+        game.settings.removeListener(qualityListener);
         stage.dispose();
-        skin.dispose();
-        batch.dispose();
-        if (bgGreenValley != null) bgGreenValley.dispose();
-        if (logoTexture != null) logoTexture.dispose();
-        if (avatarMale != null) avatarMale.dispose();
-        if (avatarFemale != null) avatarFemale.dispose();
+        glitchParticles.dispose();
+        effects.dispose();
+        // Skin, batch and optional art are shared; the lease hands them back to the cache.
+        assets.release();
     }
 }
\ No newline at end of file
@@ -0,0 +1,200 @@
+package io.github.code_quest.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.HdpiUtils;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.SnapshotArray;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import io.github.code_quest.debug.ResourceTracker;
+
+/**
+ * Renders a screen's stage at a fraction of the window resolution and stretches it back up.
+ * At scale 1 it stays out of the way and the stage draws straight to the window.
+ * <p>
+ * Screens split their stage with {@link #drawWorld(Stage, Actor)} and {@link #drawUi(Stage, Actor)}:
+ * everything under the UI actor goes through the scaled buffer, the UI and anything added above it
+ * (dialogs) is drawn afterwards at full resolution so text stays crisp. Whole-number ratios are
+ * upscaled with nearest filtering; others go through a light sharpening pass.
+ */
+public class RenderScaler implements Disposable {
+    private static final float MIN_SCALE = 0.25f;
+    private static final float SHARPNESS = 0.25f;
+
+    private static final String SHARPEN_VERTEX = ""
+        + "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+        + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+        + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+        + "uniform mat4 u_projTrans;\n"
+        + "varying vec2 v_texCoords;\n"
+        + "void main() {\n"
+        + "    v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+        + "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+        + "}\n";
+
+    // Unsharp mask over the four direct neighbours, sampled in buffer texels.
+    private static final String SHARPEN_FRAGMENT = ""
+        + "#ifdef GL_ES\n"
+        + "precision mediump float;\n"
+        + "#endif\n"
+        + "varying vec2 v_texCoords;\n"
+        + "uniform sampler2D u_texture;\n"
+        + "uniform vec2 u_texel;\n"
+        + "uniform float u_sharpness;\n"
+        + "void main() {\n"
+        + "    vec3 c = texture2D(u_texture, v_texCoords).rgb;\n"
+        + "    vec3 n = texture2D(u_texture, v_texCoords + vec2(0.0, u_texel.y)).rgb\n"
+        + "           + texture2D(u_texture, v_texCoords - vec2(0.0, u_texel.y)).rgb\n"
+        + "           + texture2D(u_texture, v_texCoords + vec2(u_texel.x, 0.0)).rgb\n"
+        + "           + texture2D(u_texture, v_texCoords - vec2(u_texel.x, 0.0)).rgb;\n"
+        + "    gl_FragColor = vec4(clamp(c + (c * 4.0 - n) * u_sharpness, 0.0, 1.0), 1.0);\n"
+        + "}\n";
+
+    private final Batch batch;
+    private final Matrix4 projection = new Matrix4().setToOrtho2D(0f, 0f, 1f, 1f);
+    private FrameBuffer fbo;
+    private TextureRegion region;
+    private ShaderProgram sharpen;
+    private boolean sharpenFailed;
+    private float scale = 1f;
+    private Viewport target;
+    private boolean scaledFrame; // the last begin()/end() pair went through the buffer
+
+    public RenderScaler(Batch batch) {
+        this.batch = batch;
+    }
+
+    public float getScale() {
+        return scale;
+    }
+
+    public void setScale(float scale) {
+        this.scale = MathUtils.clamp(scale, MIN_SCALE, 1f);
+    }
+
+    /** Redirects drawing into the scaled buffer and fits {@code viewport} to it. Pair with {@link #end()}. */
+    public void begin(Viewport viewport) {
+        target = null;
+        scaledFrame = false;
+        if (scale >= 1f) return;
+        int width = Math.max(1, Math.round(Gdx.graphics.getBackBufferWidth() * scale));
+        int height = Math.max(1, Math.round(Gdx.graphics.getBackBufferHeight() * scale));
+        if (fbo == null || fbo.getWidth() != width || fbo.getHeight() != height) {
+            disposeBuffer();
+            fbo = new FrameBuffer(Pixmap.Format.RGB888, width, height, false);
+            ResourceTracker.created(fbo, "RenderScaler", width * height * 3L);
+            fbo.getColorBufferTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+            region = new TextureRegion(fbo.getColorBufferTexture());
+            region.flip(false, true);
+        }
+        target = viewport;
+        scaledFrame = true;
+        fbo.begin();
+        // Viewports work in logical pixels and HdpiUtils maps them to back-buffer pixels.
+        viewport.update(Math.round(Gdx.graphics.getWidth() * scale), Math.round(Gdx.graphics.getHeight() * scale), true);
+    }
+
+    /** Restores the viewport for input and stretches the buffer over the window. */
+    public void end() {
+        if (target == null) return;
+        Viewport viewport = target;
+        target = null;
+        fbo.end();
+        viewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), true);
+
+        Texture texture = region.getTexture();
+        boolean whole = Gdx.graphics.getBackBufferWidth() % texture.getWidth() == 0
+            && Gdx.graphics.getBackBufferHeight() % texture.getHeight() == 0;
+        ShaderProgram shader = whole ? null : sharpen();
+        Texture.TextureFilter filter = whole ? Texture.TextureFilter.Nearest : Texture.TextureFilter.Linear;
+        if (texture.getMagFilter() != filter) texture.setFilter(filter, filter);
+
+        HdpiUtils.glViewport(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        batch.setProjectionMatrix(projection);
+        batch.setColor(Color.WHITE);
+        batch.disableBlending();
+        batch.setShader(shader);
+        batch.begin();
+        if (shader != null) {
+            shader.setUniformf("u_texel", 1f / texture.getWidth(), 1f / texture.getHeight());
+            shader.setUniformf("u_sharpness", SHARPNESS);
+        }
+        batch.draw(region, 0f, 0f, 1f, 1f);
+        batch.end();
+        batch.setShader(null);
+        batch.enableBlending();
+        viewport.apply(); // back to the viewport's own area for the UI pass
+    }
+
+    // Compiled on first use; a driver that rejects it gets plain linear upscaling from then on.
+    private ShaderProgram sharpen() {
+        if (sharpen == null && !sharpenFailed) {
+            ShaderProgram program = new ShaderProgram(SHARPEN_VERTEX, SHARPEN_FRAGMENT);
+            if (program.isCompiled()) {
+                sharpen = program;
+            } else {
+                Gdx.app.error("RenderScaler", "Sharpen shader failed, upscaling without it: " + program.getLog());
+                program.dispose();
+                sharpenFailed = true;
+            }
+        }
+        return sharpen;
+    }
+
+    /**
+     * Draws the actors of {@code stage} below {@code ui}; call between {@link #begin(Viewport)} and {@link #end()}.
+     * When not scaling this draws the whole stage, UI included, in one pass.
+     */
+    public void drawWorld(Stage stage, Actor ui) {
+        if (target == null) {
+            stage.draw();
+            return;
+        }
+        setVisibleFrom(stage, ui, false);
+        stage.draw();
+        setVisibleFrom(stage, ui, true);
+    }
+
+    /**
+     * Draws {@code ui} and every actor above it at full resolution; call after {@link #end()}. Both passes
+     * toggle visibility on the stage's top-level actors, so screens keep those visible otherwise.
+     */
+    public void drawUi(Stage stage, Actor ui) {
+        if (!scaledFrame) return;
+        SnapshotArray<Actor> layers = stage.getRoot().getChildren();
+        int first = layers.indexOf(ui, true);
+        for (int i = 0; i < first; i++) layers.get(i).setVisible(false);
+        stage.draw();
+        for (int i = 0; i < first; i++) layers.get(i).setVisible(true);
+    }
+
+    // Hides (or shows again) ui and the actors above it for the scaled pass.
+    private static void setVisibleFrom(Stage stage, Actor ui, boolean visible) {
+        SnapshotArray<Actor> layers = stage.getRoot().getChildren();
+        for (int i = Math.max(0, layers.indexOf(ui, true)), n = layers.size; i < n; i++) layers.get(i).setVisible(visible);
+    }
+
+    private void disposeBuffer() {
+        if (fbo == null) return;
+        ResourceTracker.disposed(fbo);
+        fbo.dispose();
+        fbo = null;
+    }
+
+    @Override
+    public void dispose() {
+        disposeBuffer();
+        if (sharpen != null) sharpen.dispose();
+        sharpen = null;
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.code_quest.screens;
+
+import com.badlogic.gdx.Screen;
+
+// Deferred screen construction, so a screen is only built once its assets are resident.
+public interface ScreenFactory {
+    Screen create();
+}
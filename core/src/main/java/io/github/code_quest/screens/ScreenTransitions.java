@@ -0,0 +1,55 @@
+package io.github.code_quest.screens;
+
+import com.badlogic.gdx.Screen;
+import io.github.code_quest.Main;
+import io.github.code_quest.debug.ResourceTracker;
+
+/**
+ * Owns every screen change. A transition is requested with {@link #begin(float, ScreenFactory)};
+ * while the outgoing screen fades out, the next screen's queued assets stream in on the asset
+ * service. The swap itself happens in {@link #update(float)}, called by {@link Main#render()}
+ * after the current screen has finished its frame, and the outgoing screen is disposed right away.
+ * Requests made while a transition is pending are ignored.
+ */
+public class ScreenTransitions {
+    private final Main game;
+
+    private ScreenFactory next;
+    private float fadeOut;
+    private float elapsed;
+
+    public ScreenTransitions(Main game) {
+        this.game = game;
+    }
+
+    /** Starts a transition after {@code fadeOut} seconds. Returns false if one is already pending. */
+    public boolean begin(float fadeOut, ScreenFactory next) {
+        if (this.next != null) return false;
+        this.next = next;
+        this.fadeOut = fadeOut;
+        this.elapsed = 0f;
+        return true;
+    }
+
+    public boolean isBusy() {
+        return next != null;
+    }
+
+    public void update(float delta) {
+        if (next == null) return;
+        elapsed += delta;
+        boolean loaded = game.assets.update(LoadingScreen.FRAME_BUDGET_MS);
+        if (elapsed < fadeOut) return;
+
+        ScreenFactory factory = next;
+        next = null;
+        // Only build the screen directly when nothing is left to load; otherwise keep streaming behind a loading screen.
+        Screen incoming = loaded ? factory.create() : new LoadingScreen(game, factory);
+        Screen outgoing = game.getScreen();
+        game.setScreen(incoming);
+        if (outgoing != null) {
+            outgoing.dispose();
+            if (ResourceTracker.DEBUG) ResourceTracker.reportLeaks(ResourceTracker.ownerOf(outgoing));
+        }
+    }
+}
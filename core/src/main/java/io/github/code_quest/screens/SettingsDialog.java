@@ -0,0 +1,79 @@
+package io.github.code_quest.screens;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.ButtonGroup;
+import com.badlogic.gdx.scenes.scene2d.ui.CheckBox;
+import com.badlogic.gdx.scenes.scene2d.ui.Dialog;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
+import io.github.code_quest.settings.Quality;
+import io.github.code_quest.settings.Settings;
+
+/** Quality picker shown over the menu. Choices are saved and applied immediately, so the effects behind it react live. */
+public class SettingsDialog extends Dialog {
+    private final Settings settings;
+    private final Label details;
+
+    public SettingsDialog(Skin skin, Settings settings) {
+        super("Settings", skin);
+        this.settings = settings;
+
+        Table content = getContentTable();
+        content.pad(10);
+        content.add(new Label("Quality", skin)).left().padBottom(6).row();
+
+        Table presets = new Table();
+        ButtonGroup<TextButton> group = new ButtonGroup<>();
+        for (final Quality quality : Quality.values()) {
+            TextButton button = new TextButton(quality.label, skin, "toggle");
+            button.setChecked(quality == settings.getQuality());
+            button.addListener(new ChangeListener() {
+                @Override public void changed(ChangeEvent event, Actor actor) {
+                    if (((TextButton)actor).isChecked()) select(quality);
+                }
+            });
+            group.add(button);
+            presets.add(button).width(90).height(36).pad(4);
+        }
+        content.add(presets).row();
+
+        details = new Label("", skin);
+        content.add(details).left().padTop(8).row();
+        describe(settings.getQuality());
+
+        final CheckBox adaptive = new CheckBox(" Lower effects automatically to hold the frame rate", skin);
+        adaptive.setChecked(settings.isAdaptive());
+        adaptive.addListener(new ChangeListener() {
+            @Override public void changed(ChangeEvent event, Actor actor) {
+                SettingsDialog.this.settings.setAdaptive(adaptive.isChecked());
+            }
+        });
+        content.add(adaptive).left().padTop(10).row();
+
+        final CheckBox dynamic = new CheckBox(" Lower resolution automatically when the GPU falls behind", skin);
+        dynamic.setChecked(settings.isDynamicResolution());
+        dynamic.addListener(new ChangeListener() {
+            @Override public void changed(ChangeEvent event, Actor actor) {
+                SettingsDialog.this.settings.setDynamicResolution(dynamic.isChecked());
+            }
+        });
+        content.add(dynamic).left().padTop(4);
+
+        button("Close");
+    }
+
+    private void select(Quality quality) {
+        settings.setQuality(quality);
+        describe(quality);
+    }
+
+    private void describe(Quality quality) {
+        details.setText(quality.rainDrops + " code drops, " + quality.glitchBits + " glitch bits, "
+            + Math.round(quality.renderScale * 100) + "% resolution, "
+            + (quality.fpsCap > 0 ? quality.fpsCap + " FPS cap" : "display refresh rate")
+            + (quality.vsync ? ", vsync" : ""));
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.code_quest.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import io.github.code_quest.debug.ResourceTracker;
+
+/**
+ * A group whose children are drawn once into a {@link FrameBuffer} and then blitted as a single quad
+ * every frame. Put the parts of a screen that never move here, under the animated actors. The cache
+ * is rebuilt by {@link #validate()} when the stage's on-screen size changes, when children are added
+ * or removed, or after {@link #invalidate()}; children must not run actions of their own.
+ * <p>
+ * The cache holds premultiplied alpha: children are blended into it with separate alpha blending and it
+ * is drawn back with {@code GL_ONE, GL_ONE_MINUS_SRC_ALPHA}, so translucent children composite correctly.
+ * <p>
+ * A window-sized buffer only pays for itself when it replaces textured art; a handful of solid-colour
+ * quads is cheaper to draw directly. Screens turn the buffer off with {@link #setCached(boolean)} when
+ * none of their art is shipped, and the children are then drawn as a plain group.
+ */
+public class StaticLayer extends Group implements Disposable {
+    private FrameBuffer fbo;
+    private TextureRegion region;
+    private boolean dirty = true, cached = true;
+
+    public StaticLayer(float width, float height) {
+        setSize(width, height);
+        setTouchable(Touchable.childrenOnly);
+    }
+
+    /** Whether children go through the frame buffer; when off, no buffer is allocated and they draw directly. */
+    public void setCached(boolean cached) {
+        this.cached = cached;
+        if (!cached) disposeBuffer();
+        dirty = true;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    /** Marks the cache stale, e.g. after swapping a child's drawable. */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    @Override
+    protected void childrenChanged() {
+        super.childrenChanged();
+        dirty = true;
+    }
+
+    /**
+     * Re-renders the cache if it is stale. Call each frame before the stage draws and outside any other
+     * frame buffer, since binding ours ends with the default framebuffer bound.
+     */
+    public void validate() {
+        if (!cached || getStage() == null) return;
+        Viewport viewport = getStage().getViewport();
+        float density = Gdx.graphics.getWidth() > 0 ? Gdx.graphics.getBackBufferWidth() / (float)Gdx.graphics.getWidth() : 1f;
+        int width = Math.max(1, Math.round(viewport.getScreenWidth() * density));
+        int height = Math.max(1, Math.round(viewport.getScreenHeight() * density));
+        if (!dirty && fbo != null && fbo.getWidth() == width && fbo.getHeight() == height) return;
+
+        if (fbo == null || fbo.getWidth() != width || fbo.getHeight() != height) {
+            disposeBuffer();
+            fbo = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+            ResourceTracker.created(fbo, null, width * height * 4L); // charged to the screen drawing us
+            region = new TextureRegion(fbo.getColorBufferTexture());
+            region.flip(false, true);
+        }
+
+        Batch batch = getStage().getBatch();
+        viewport.getCamera().update();
+        fbo.begin();
+        Gdx.gl.glClearColor(0f, 0f, 0f, 0f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        batch.setProjectionMatrix(viewport.getCamera().combined);
+        batch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.begin();
+        super.draw(batch, 1f);
+        batch.end();
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        fbo.end();
+        viewport.apply(); // fbo.end() leaves the whole window as the GL viewport
+        dirty = false;
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        if (fbo == null) {
+            super.draw(batch, parentAlpha); // not validated yet: draw the children directly
+            return;
+        }
+        float a = parentAlpha * getColor().a;
+        batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.setColor(a, a, a, a); // premultiplied tint
+        batch.draw(region, getX(), getY(), getWidth(), getHeight());
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.setColor(1f, 1f, 1f, 1f);
+    }
+
+    private void disposeBuffer() {
+        if (fbo == null) return;
+        ResourceTracker.disposed(fbo);
+        fbo.dispose();
+        fbo = null;
+    }
+
+    @Override
+    public void dispose() {
+        disposeBuffer();
+    }
+}
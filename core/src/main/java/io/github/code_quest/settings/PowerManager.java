@@ -0,0 +1,93 @@
+package io.github.code_quest.settings;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+
+/**
+ * Scales the game's appetite for CPU and GPU with how visible it is. Focused, it runs at the preset's
+ * frame rate; unfocused, frames and simulation ticks drop to {@value #BACKGROUND_FPS} per second;
+ * minimized, continuous rendering stops and {@link io.github.code_quest.Main} only wakes the loop while
+ * a screen change, load or action is in flight, so a minimized game is simulated only until those finish.
+ * While paused nothing is simulated.
+ * The platform reports focus and minimize changes; pause and resume come through the application.
+ */
+public class PowerManager {
+    public enum Mode { ACTIVE, BACKGROUND, MINIMIZED }
+
+    public static final int BACKGROUND_FPS = 15;
+
+    private final Settings settings;
+    private boolean focused = true, minimized, paused;
+    private Mode mode = Mode.ACTIVE;
+
+    public PowerManager(Settings settings) {
+        this.settings = settings;
+    }
+
+    public void setFocused(boolean focused) {
+        this.focused = focused;
+        apply();
+    }
+
+    public void setMinimized(boolean minimized) {
+        this.minimized = minimized;
+        apply();
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    public boolean isFocused() {
+        return focused;
+    }
+
+    public boolean isMinimized() {
+        return minimized;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /** True while the simulation must not advance. */
+    public boolean isSuspended() {
+        return paused;
+    }
+
+    /** The tick length to simulate with: the configured one, or a longer one in the background. */
+    public float tick(float configured) {
+        return mode == Mode.BACKGROUND ? Math.max(configured, 1f / BACKGROUND_FPS) : configured;
+    }
+
+    /** Re-applies frame pacing, e.g. after the quality preset changed its FPS cap. */
+    public void refresh() {
+        Quality quality = settings.getQuality();
+        switch (mode) {
+            case ACTIVE:
+                Graphics.DisplayMode display = Gdx.graphics.getDisplayMode();
+                Gdx.graphics.setForegroundFPS(quality.foregroundFps(display != null ? display.refreshRate : 60));
+                Gdx.graphics.setContinuousRendering(true);
+                break;
+            case BACKGROUND:
+                Gdx.graphics.setForegroundFPS(BACKGROUND_FPS);
+                Gdx.graphics.setContinuousRendering(true);
+                break;
+            case MINIMIZED:
+                Gdx.graphics.setContinuousRendering(false);
+                break;
+        }
+    }
+
+    private void apply() {
+        Mode next = minimized ? Mode.MINIMIZED : focused ? Mode.ACTIVE : Mode.BACKGROUND;
+        if (next == mode) return;
+        mode = next;
+        refresh();
+        if (mode != Mode.MINIMIZED) Gdx.graphics.requestRendering(); // wake a loop that stopped while minimized
+    }
+}
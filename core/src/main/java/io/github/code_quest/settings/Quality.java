@@ -0,0 +1,30 @@
+package io.github.code_quest.settings;
+
+/** Quality presets. Each one sizes the background effects and sets the render scale and frame pacing. */
+public enum Quality {
+    LOW("Low", 20, 10, 0.5f, false, 30),
+    MEDIUM("Medium", 40, 20, 0.75f, true, 60),
+    HIGH("High", 60, 30, 1f, true, 0),
+    ULTRA("Ultra", 120, 120, 1f, true, 0);
+
+    public final String label;
+    public final int rainDrops;      // CodeRainActor drops per screen
+    public final int glitchBits;     // GlitchParticles count
+    public final float renderScale;  // fraction of the window resolution the stage renders at
+    public final boolean vsync;
+    public final int fpsCap;         // 0 follows the monitor's refresh rate
+
+    Quality(String label, int rainDrops, int glitchBits, float renderScale, boolean vsync, int fpsCap) {
+        this.label = label;
+        this.rainDrops = rainDrops;
+        this.glitchBits = glitchBits;
+        this.renderScale = renderScale;
+        this.vsync = vsync;
+        this.fpsCap = fpsCap;
+    }
+
+    /** Foreground FPS limit for a monitor refreshing at {@code refreshRate}; +1 tolerates fractional rates. */
+    public int foregroundFps(int refreshRate) {
+        return fpsCap > 0 ? fpsCap : refreshRate + 1;
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.code_quest.settings;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.math.MathUtils;
+import io.github.code_quest.screens.RenderScaler;
+
+/**
+ * Holds the frame rate by trading detail for time. Frame and work times are averaged over short
+ * windows; a window over budget trims the effect populations first and the render resolution second,
+ * while a run of windows with clear headroom gives them back in reverse order. The gap between the
+ * two thresholds, the required streak and the cooldown after each step keep it from oscillating.
+ * <p>
+ * With dynamic resolution on and a GPU timer available, resolution follows measured GPU time instead:
+ * a window over the GPU budget drops straight to the scale that should fit, a window well under it
+ * climbs one notch, and the effect steps above only answer to CPU time.
+ */
+public class QualityGovernor implements Settings.Listener {
+    private static final int WINDOW = 30;              // frames per evaluation
+    private static final float OVER_BUDGET = 1.1f;     // average frame time above this fraction of the budget shrinks
+    private static final float HEADROOM = 0.6f;        // average act+draw time below this fraction may grow
+    private static final int GROW_STREAK = 4;          // consecutive quiet windows needed to grow
+    private static final int COOLDOWN = 2;             // windows ignored after any step
+    private static final float HITCH_SECONDS = 0.25f;  // loads and window drags, not steady-state cost
+
+    private static final float EFFECT_STEP = 0.75f, MIN_EFFECTS = 0.25f;
+    private static final float RESOLUTION_STEP = 0.1f, MIN_RESOLUTION = 0.5f;
+    private static final float GPU_OVER = 0.85f, GPU_UNDER = 0.6f, GPU_TARGET = 0.75f; // fractions of the budget
+    private static final float GPU_NOTCH = 0.05f;
+
+    private final Settings settings;
+    private final RenderScaler scaler;
+    private Quality preset;
+    private float budgetMs;
+    private float resolution = 1f; // fraction of the preset's render scale
+    private boolean enabled = true;
+
+    private int frames, gpuFrames, quietWindows, cooldown;
+    private float frameSum, workSum, gpuSum;
+
+    public QualityGovernor(Settings settings, RenderScaler scaler) {
+        this.settings = settings;
+        this.scaler = scaler;
+        qualityChanged(settings.getQuality());
+    }
+
+    /** The preset changed (or only the effect scale did); re-derive the budget and reapply our resolution. */
+    @Override
+    public void qualityChanged(Quality quality) {
+        Graphics.DisplayMode mode = Gdx.graphics.getDisplayMode();
+        int refresh = mode != null && mode.refreshRate > 0 ? mode.refreshRate : 60;
+        budgetMs = 1000f / (quality.fpsCap > 0 ? Math.min(quality.fpsCap, refresh) : refresh);
+        if (quality != preset) resolution = 1f; // a fresh preset starts at full detail
+        preset = quality;
+        applyResolution();
+    }
+
+    /**
+     * Call once per frame with the frame delta, the time the screen spent in act and draw, and the latest
+     * GPU time, or -1 when there is no GPU timer.
+     */
+    public void update(float delta, float workMs, float gpuMs) {
+        boolean adaptive = enabled && settings.isAdaptive();
+        boolean dynamic = enabled && settings.isDynamicResolution() && gpuMs >= 0f;
+        if (!adaptive && !dynamic) {
+            if (resolution < 1f || settings.getEffectScale() < 1f) restore();
+            return;
+        }
+        if (!adaptive && settings.getEffectScale() < 1f) settings.setEffectScale(1f);
+        if (delta > HITCH_SECONDS) return;
+        frameSum += delta * 1000f;
+        workSum += workMs;
+        if (gpuMs >= 0f) {
+            gpuSum += gpuMs;
+            gpuFrames++;
+        }
+        if (++frames < WINDOW) return;
+
+        float frameMs = frameSum / frames, work = workSum / frames;
+        float gpu = gpuFrames > 0 ? gpuSum / gpuFrames : -1f;
+        frames = gpuFrames = 0;
+        frameSum = workSum = gpuSum = 0f;
+        if (dynamic && gpu >= 0f) fitResolution(gpu);
+        if (!adaptive) return;
+        if (dynamic) frameMs = work; // GPU cost is handled above; only CPU time may cost effects
+        if (cooldown > 0) {
+            cooldown--;
+            return;
+        }
+        if (frameMs > budgetMs * OVER_BUDGET) {
+            quietWindows = 0;
+            if (shrink(!dynamic)) cooldown = COOLDOWN;
+        } else if (work < budgetMs * HEADROOM && ++quietWindows >= GROW_STREAK) {
+            quietWindows = 0;
+            if (grow(!dynamic)) cooldown = COOLDOWN;
+        }
+    }
+
+    // Fill cost scales with pixel count, i.e. with the square of the linear scale, so an over-budget
+    // window jumps to the scale whose area fits the target and recovery climbs a notch at a time.
+    private void fitResolution(float gpuMs) {
+        float next = resolution;
+        if (gpuMs > budgetMs * GPU_OVER) {
+            next = resolution * (float)Math.sqrt(budgetMs * GPU_TARGET / gpuMs);
+            next = (float)Math.floor(next / GPU_NOTCH) * GPU_NOTCH;
+        } else if (gpuMs < budgetMs * GPU_UNDER) {
+            next = resolution + GPU_NOTCH;
+        }
+        next = MathUtils.clamp(next, MIN_RESOLUTION, 1f);
+        if (next == resolution) return;
+        resolution = next;
+        applyResolution();
+    }
+
+    // Effects go first: they are the cheapest detail to lose. Resolution only drops once they are at the floor.
+    private boolean shrink(boolean stepResolution) {
+        float effects = settings.getEffectScale();
+        if (effects > MIN_EFFECTS) {
+            settings.setEffectScale(Math.max(MIN_EFFECTS, effects * EFFECT_STEP));
+            return true;
+        }
+        if (stepResolution && resolution > MIN_RESOLUTION) {
+            resolution = Math.max(MIN_RESOLUTION, resolution - RESOLUTION_STEP);
+            applyResolution();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean grow(boolean stepResolution) {
+        if (stepResolution && resolution < 1f) {
+            resolution = Math.min(1f, resolution + RESOLUTION_STEP);
+            applyResolution();
+            return true;
+        }
+        float effects = settings.getEffectScale();
+        if (effects < 1f) {
+            settings.setEffectScale(Math.min(1f, effects / EFFECT_STEP));
+            return true;
+        }
+        return false;
+    }
+
+    private void restore() {
+        resolution = 1f;
+        applyResolution();
+        settings.setEffectScale(1f);
+    }
+
+    private void applyResolution() {
+        scaler.setScale(settings.getQuality().renderScale * resolution);
+    }
+
+    /** Runtime switch on top of the player's setting; recorded and replayed sessions turn the governor off. */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public float getResolution() {
+        return resolution;
+    }
+
+    public float getBudgetMs() {
+        return budgetMs;
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.code_quest.settings;
+
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.utils.SnapshotArray;
+
+/**
+ * Persisted player preferences. Listeners hear about changes as they happen, so screens can resize
+ * their effects in place instead of being rebuilt.
+ */
+public class Settings {
+    public static final String PREFS = "code_quest.settings";
+    private static final String QUALITY = "quality";
+    private static final String ADAPTIVE = "adaptive";
+    private static final String DYNAMIC_RESOLUTION = "dynamicResolution";
+
+    public interface Listener {
+        void qualityChanged(Quality quality);
+    }
+
+    private final Preferences prefs;
+    private final SnapshotArray<Listener> listeners = new SnapshotArray<>(Listener.class);
+    private Quality quality;
+    private boolean adaptive;
+    private boolean dynamicResolution;
+    private float effectScale = 1f; // runtime only; the QualityGovernor trims effects below the preset
+
+    public Settings(Preferences prefs) {
+        this.prefs = prefs;
+        this.quality = readQuality(prefs);
+        this.adaptive = prefs.getBoolean(ADAPTIVE, true);
+        this.dynamicResolution = prefs.getBoolean(DYNAMIC_RESOLUTION, true);
+    }
+
+    /** Reads the saved preset; also used by launchers before the application exists. */
+    public static Quality readQuality(Preferences prefs) {
+        String name = prefs.getString(QUALITY, Quality.HIGH.name());
+        for (Quality q : Quality.values()) if (q.name().equals(name)) return q;
+        return Quality.HIGH;
+    }
+
+    public Quality getQuality() {
+        return quality;
+    }
+
+    public void setQuality(Quality quality) {
+        if (this.quality == quality) return;
+        prefs.putString(QUALITY, quality.name());
+        prefs.flush();
+        override(quality);
+    }
+
+    /** Switches preset for this run only, without saving it; replays use this to match the recorded session. */
+    public void override(Quality quality) {
+        if (this.quality == quality) return;
+        this.quality = quality;
+        this.effectScale = 1f; // an explicit choice starts from the full preset again
+        notifyListeners();
+    }
+
+    /** Whether the governor may scale effects and resolution below the preset to hold the frame rate. */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(boolean adaptive) {
+        if (this.adaptive == adaptive) return;
+        this.adaptive = adaptive;
+        prefs.putBoolean(ADAPTIVE, adaptive);
+        prefs.flush();
+    }
+
+    /** Whether the render resolution follows measured GPU time between half and full of the preset's. */
+    public boolean isDynamicResolution() {
+        return dynamicResolution;
+    }
+
+    public void setDynamicResolution(boolean dynamicResolution) {
+        if (this.dynamicResolution == dynamicResolution) return;
+        this.dynamicResolution = dynamicResolution;
+        prefs.putBoolean(DYNAMIC_RESOLUTION, dynamicResolution);
+        prefs.flush();
+    }
+
+    public float getEffectScale() {
+        return effectScale;
+    }
+
+    public void setEffectScale(float effectScale) {
+        if (this.effectScale == effectScale) return;
+        this.effectScale = effectScale;
+        notifyListeners();
+    }
+
+    /** Drop count screens should use: the preset's, trimmed by the current effect scale. */
+    public int getRainDrops() {
+        return Math.round(quality.rainDrops * effectScale);
+    }
+
+    public int getGlitchBits() {
+        return Math.round(quality.glitchBits * effectScale);
+    }
+
+    private void notifyListeners() {
+        Listener[] items = listeners.begin();
+        for (int i = 0, n = listeners.size; i < n; i++) items[i].qualityChanged(quality);
+        listeners.end();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.removeValue(listener, true);
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.code_quest.lwjgl3;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Puts the desktop game on the AppCDS archive written by {@code lwjgl3:cdsArchive}. The archive holds
+ * the classes a training run loaded (libGDX, scene2d, the skin's JSON reflection, the game), already
+ * parsed and verified, so startup maps them in instead of loading them one by one. A JVM can only use
+ * an archive it was started with, so when one sits next to the jar and this JVM isn't on it, the game
+ * is relaunched on it once. Runs from class directories (IDE, {@code lwjgl3:run}) and native images
+ * are left alone; a stale or foreign archive is simply ignored by the JVM.
+ */
+public final class AppCds {
+    /** Archive file name, next to the game jar. */
+    public static final String ARCHIVE = "code_quest.jsa";
+    /** Epoch millis of the first launch, carried into a relaunched JVM for the startup timer. */
+    static final String LAUNCHED_AT = "codequest.launchedAt";
+    private static final String RELAUNCHED = "codequest.cds";
+
+    private AppCds() {
+    }
+
+    /**
+     * Relaunches on the archive when there is one to use and waits for the game to end.
+     * Returns false when this JVM should run the game itself.
+     */
+    public static boolean relaunchIfArchived(String[] args, long launchedAt) {
+        if (Boolean.getBoolean(RELAUNCHED) || !System.getProperty("org.graalvm.nativeimage.imagecode", "").isEmpty()) return false;
+        if (featureVersion() < 13) return false; // dynamic archives came with JDK 13
+        File jar = jarFile();
+        if (jar == null) return false;
+        File archive = new File(jar.getParentFile(), ARCHIVE);
+        if (!archive.isFile()) return false;
+
+        List<String> inputs = ManagementFactory.getRuntimeMXBean().getInputArguments();
+        for (String arg : inputs) {
+            if (arg.startsWith("-XX:SharedArchiveFile") || arg.startsWith("-Xshare")) return false; // the user's choice wins
+        }
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        if (System.getProperty("os.name").toLowerCase().contains("mac")) command.add("-XstartOnFirstThread");
+        command.addAll(inputs);
+        command.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+        command.add("-Xshare:auto");
+        command.add("-D" + RELAUNCHED + "=true");
+        command.add("-D" + LAUNCHED_AT + "=" + launchedAt);
+        command.add("-cp");
+        command.add(jar.getAbsolutePath()); // must match the path the archive was trained with
+        command.add(Lwjgl3Launcher.class.getName());
+        command.addAll(Arrays.asList(args));
+        try {
+            Process game = new ProcessBuilder(command).inheritIO().start();
+            System.exit(game.waitFor());
+        } catch (Exception e) {
+            System.err.println("Could not relaunch on the AppCDS archive; starting without it.");
+            e.printStackTrace();
+            return false;
+        }
+        return true;
+    }
+
+    /** The jar this class was loaded from, or null when running from class directories. */
+    static File jarFile() {
+        try {
+            File file = new File(AppCds.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            return file.isFile() && file.getName().endsWith(".jar") ? file : null;
+        } catch (URISyntaxException | SecurityException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    private static int featureVersion() {
+        String version = System.getProperty("java.specification.version", "1.8");
+        if (version.startsWith("1.")) return Integer.parseInt(version.substring(2));
+        int dot = version.indexOf('.');
+        return Integer.parseInt(dot < 0 ? version : version.substring(0, dot));
+    }
+}
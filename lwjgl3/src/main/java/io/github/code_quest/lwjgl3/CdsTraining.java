@@ -0,0 +1,69 @@
+package io.github.code_quest.lwjgl3;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputProcessor;
+import io.github.code_quest.Main;
+import io.github.code_quest.screens.IntroScreen;
+import io.github.code_quest.screens.LoadingScreen;
+
+/**
+ * Training run behind {@code lwjgl3:cdsArchive}, started by {@link Lwjgl3Launcher} with {@link #FLAG}.
+ * Runs the real game in a hidden window on the desktop backend, so the LWJGL and GLFW classes are
+ * archived along with the game's: loads and draws the menu, opens the settings dialog, moves on to the
+ * intro, then exits so the JVM can write every class it loaded into the {@link AppCds} archive.
+ */
+final class CdsTraining extends Main {
+    /** Launcher argument that runs this script instead of a normal session. */
+    static final String FLAG = "--cds-training";
+    private static final int FRAMES = 120;
+    private static final int MAX_SETTLE_FRAMES = 10_000;
+    private static final float DELTA = 1f / 60f;
+
+    private int step;
+    private int frames; // frames spent on the current step
+
+    @Override
+    public void render() {
+        frame(DELTA); // fixed steps, so every training run takes the same path
+        frames++;
+        switch (step) {
+            case 0: // menu loading
+            case 3: // intro loading
+                if (settled() || frames >= MAX_SETTLE_FRAMES) next();
+                break;
+            case 1: // menu
+                if (frames < FRAMES) break;
+                // Down twice and Enter: the menu's keyboard navigation opens Settings.
+                InputProcessor input = Gdx.input.getInputProcessor();
+                input.keyDown(Input.Keys.DOWN);
+                input.keyDown(Input.Keys.DOWN);
+                input.keyDown(Input.Keys.ENTER);
+                next();
+                break;
+            case 2: // settings dialog
+                if (frames < FRAMES) break;
+                IntroScreen.preload(assets);
+                transitions.begin(0f, () -> new IntroScreen(this, false));
+                next();
+                break;
+            case 4: // intro
+                if (frames < FRAMES) break;
+                Gdx.app.exit();
+                next();
+                break;
+            default:
+                break;
+        }
+    }
+
+    // No transition pending and no loading screen up.
+    private boolean settled() {
+        return !transitions.isBusy() && !(getScreen() instanceof LoadingScreen);
+    }
+
+    private void next() {
+        step++;
+        frames = 0;
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.code_quest.lwjgl3;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.glutils.GLVersion;
+import io.github.code_quest.debug.GpuTimer;
+import org.lwjgl.opengles.GLES;
+import org.lwjgl.opengles.GLES20;
+
+import static org.lwjgl.opengles.EXTDisjointTimerQuery.GL_GPU_DISJOINT_EXT;
+import static org.lwjgl.opengles.EXTDisjointTimerQuery.GL_QUERY_RESULT_AVAILABLE_EXT;
+import static org.lwjgl.opengles.EXTDisjointTimerQuery.GL_QUERY_RESULT_EXT;
+import static org.lwjgl.opengles.EXTDisjointTimerQuery.GL_TIME_ELAPSED_EXT;
+import static org.lwjgl.opengles.EXTDisjointTimerQuery.glBeginQueryEXT;
+import static org.lwjgl.opengles.EXTDisjointTimerQuery.glDeleteQueriesEXT;
+import static org.lwjgl.opengles.EXTDisjointTimerQuery.glEndQueryEXT;
+import static org.lwjgl.opengles.EXTDisjointTimerQuery.glGenQueriesEXT;
+import static org.lwjgl.opengles.EXTDisjointTimerQuery.glGetQueryObjectui64EXT;
+import static org.lwjgl.opengles.EXTDisjointTimerQuery.glGetQueryObjectuiEXT;
+
+/**
+ * {@link GpuTimer} on {@code EXT_disjoint_timer_query}, which ANGLE exposes on most desktop drivers.
+ * A small ring of queries stays in flight and finished ones are collected at the next {@link #begin()},
+ * so nothing waits on the GPU. Without ANGLE, or without the extension, it measures nothing.
+ */
+public class Lwjgl3GpuTimer implements GpuTimer {
+    private static final int QUERIES = 4; // frames a result may lag behind
+
+    private final int[] ids = new int[QUERIES];
+    private final boolean[] pending = new boolean[QUERIES];
+    private int next; // slot of the next query, which is also the oldest one in flight
+    private boolean checked, supported, running;
+    private float lastMs = -1f;
+
+    // Decided on first use: the GL context doesn't exist yet when the launcher creates this.
+    private boolean isSupported() {
+        if (!checked) {
+            checked = true;
+            supported = Gdx.graphics.getGLVersion().getType() == GLVersion.Type.GLES
+                && GLES.getCapabilities().GL_EXT_disjoint_timer_query;
+            if (supported) for (int i = 0; i < QUERIES; i++) ids[i] = glGenQueriesEXT();
+        }
+        return supported;
+    }
+
+    @Override
+    public void begin() {
+        if (!isSupported()) return;
+        collect();
+        if (pending[next]) return; // the whole ring is still in flight: skip this frame
+        glBeginQueryEXT(GL_TIME_ELAPSED_EXT, ids[next]);
+        running = true;
+    }
+
+    @Override
+    public void end() {
+        if (!running) return;
+        glEndQueryEXT(GL_TIME_ELAPSED_EXT);
+        running = false;
+        pending[next] = true;
+        next = (next + 1) % QUERIES;
+    }
+
+    // Oldest first; queries finish in order, so the first unfinished one ends the scan.
+    private void collect() {
+        boolean disjoint = GLES20.glGetInteger(GL_GPU_DISJOINT_EXT) != 0; // clock changed: results in flight are junk
+        for (int i = 0; i < QUERIES; i++) {
+            int q = (next + i) % QUERIES;
+            if (!pending[q]) continue;
+            if (glGetQueryObjectuiEXT(ids[q], GL_QUERY_RESULT_AVAILABLE_EXT) == 0) break;
+            pending[q] = false;
+            if (!disjoint) lastMs = glGetQueryObjectui64EXT(ids[q], GL_QUERY_RESULT_EXT) / 1e6f;
+        }
+    }
+
+    @Override
+    public float getLastMs() {
+        return lastMs;
+    }
+
+    @Override
+    public void dispose() {
+        if (!supported) return;
+        for (int id : ids) glDeleteQueriesEXT(id);
+        supported = false;
+    }
+}
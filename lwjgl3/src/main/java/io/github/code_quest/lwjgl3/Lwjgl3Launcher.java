@@ -2,31 +2,90 @@ package io.github.code_quest.lwjgl3;
 
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Preferences;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3WindowAdapter;
+import com.badlogic.gdx.files.FileHandle;
 import io.github.code_quest.Main;
+import io.github.code_quest.debug.Trace;
+import io.github.code_quest.settings.Quality;
+import io.github.code_quest.settings.Settings;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
 
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
+        //// A relaunch onto the AppCDS archive reports the first JVM's start, so the timer covers both.
+        long launchedAt = Long.getLong(AppCds.LAUNCHED_AT, System.currentTimeMillis());
+        //// `--cds-training` runs the lwjgl3:cdsArchive script in a hidden window and exits; it never uses an old archive.
+        boolean training = Arrays.asList(args).contains(CdsTraining.FLAG);
+        if (!training && AppCds.relaunchIfArchived(args, launchedAt)) return; // Maps pre-parsed classes in when lwjgl3:cdsArchive has run.
         if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
-        createApplication();
+        createApplication(args, launchedAt, training);
+        if (training) System.exit(0); // the archive is written as the JVM exits
+    }
+
+    private static Lwjgl3Application createApplication(String[] args, long launchedAt, boolean training) {
+        Main game = training ? new CdsTraining() : new Main();
+        game.setLaunchTime(launchedAt);
+        //// `--record <file>` saves the session's input and frame timing for benchmarks:replay.
+        //// `--jfr <file>` records a Java Flight Recorder trace with the game's frame, asset and screen events.
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--record")) game.recordTo(new FileHandle(args[i + 1]));
+            if (args[i].equals("--jfr")) startFlightRecording(new File(args[i + 1]));
+        }
+        //// GPU timer queries drive dynamic resolution; measures nothing where the driver lacks them.
+        game.gpuTimer = new Lwjgl3GpuTimer();
+        Lwjgl3ApplicationConfiguration configuration = getDefaultConfiguration();
+        if (training) {
+            configuration.setInitialVisible(false);
+            configuration.useVsync(false);
+            configuration.setForegroundFPS(0);
+        }
+        //// Throttles the game while it is unfocused and stops continuous rendering while minimized.
+        configuration.setWindowListener(new Lwjgl3WindowAdapter() {
+            @Override public void focusLost() {
+                if (game.power != null) game.power.setFocused(false);
+            }
+
+            @Override public void focusGained() {
+                if (game.power != null) game.power.setFocused(true);
+            }
+
+            @Override public void iconified(boolean isIconified) {
+                if (game.power != null) game.power.setMinimized(isIconified);
+            }
+        });
+        return new Lwjgl3Application(game, configuration);
     }
 
-    private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new Main(), getDefaultConfiguration());
+    private static void startFlightRecording(File file) {
+        try {
+            if (!Trace.startRecording(file)) System.err.println("This Java runtime has no Flight Recorder; --jfr ignored.");
+        } catch (IOException e) {
+            System.err.println("Could not start the Flight Recorder: " + e.getMessage());
+        }
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
         Lwjgl3ApplicationConfiguration configuration = new Lwjgl3ApplicationConfiguration();
         configuration.setTitle("code_quest");
+        //// The saved quality preset decides vsync and the FPS cap; the Settings dialog changes them live.
+        //// Preferences are read straight from the default .prefs/ directory since Gdx.app doesn't exist yet.
+        Quality quality = Settings.readQuality(new Lwjgl3Preferences(Settings.PREFS, ".prefs/"));
         //// Vsync limits the frames per second to what your hardware can display, and helps eliminate
         //// screen tearing. This setting doesn't always work on Linux, so the line after is a safeguard.
-        configuration.useVsync(true);
-        //// Limits FPS to the refresh rate of the currently active monitor, plus 1 to try to match fractional
-        //// refresh rates. The Vsync setting above should limit the actual FPS to match the monitor.
-        configuration.setForegroundFPS(Lwjgl3ApplicationConfiguration.getDisplayMode().refreshRate + 1);
+        configuration.useVsync(quality.vsync);
+        //// Limits FPS to the preset's cap, or to the refresh rate of the currently active monitor plus 1 to
+        //// try to match fractional refresh rates. The Vsync setting above should limit the actual FPS to match the monitor.
+        configuration.setForegroundFPS(quality.foregroundFps(Lwjgl3ApplicationConfiguration.getDisplayMode().refreshRate));
         //// If you remove the above line and set Vsync to false, you can get unlimited FPS, which can be
         //// useful for testing performance, but can also be very stressful to some hardware.
         //// You may also need to configure GPU drivers to fully disable Vsync; this can cause screen tearing.
+        //// How often the loop wakes while nothing renders, e.g. when minimized; low keeps an idle game near 0% CPU.
+        configuration.setIdleFPS(10);
 
         configuration.setWindowedMode(640, 480);
         //// You can change these files; they are in lwjgl3/src/main/resources/ .